@@ -0,0 +1,19 @@
+package com.example.release_tracker_gateway.neon_gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+import java.time.Instant;
+
+public record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, Instant cachedAt) {
+
+    /**
+     * Approximate heap footprint in bytes, used as the Caffeine weight.
+     */
+    public int weight() {
+        int headerBytes = headers.entrySet().stream()
+                .mapToInt(header -> header.getKey().length() + header.getValue().stream().mapToInt(String::length).sum())
+                .sum();
+        return body.length + headerBytes;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.release_tracker_gateway.neon_gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Proxied GET responses, invalidated by the writes the gateway forwards. A write on one
+ * release evicts that release and every listing; a create evicts only listings; batch
+ * writes and imports can touch any release and clear everything.
+ * <p>
+ * Each invalidation bumps a generation number. A response is only kept if no invalidation
+ * happened since its request was forwarded, so a read that raced a write cannot put the
+ * pre-write body back into the cache.
+ */
+public class GatewayResponseCache {
+    private static final String RELEASES_PATH = "/releases";
+    private static final Pattern RELEASE_PATH = Pattern.compile("^/releases/\\d+$");
+    private final Cache<ResponseCacheKey, CachedResponse> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public GatewayResponseCache(Cache<ResponseCacheKey, CachedResponse> cache) {
+        this.cache = cache;
+    }
+
+    public CachedResponse get(ResponseCacheKey key) {
+        return cache.getIfPresent(key);
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public void put(ResponseCacheKey key, CachedResponse response, long requestGeneration) {
+        if(generation.get() != requestGeneration)
+            return;
+        cache.put(key, response);
+        if(generation.get() != requestGeneration)
+            cache.asMap().remove(key, response);
+    }
+
+    public void invalidate(String writePath) {
+        generation.incrementAndGet();
+        if(RELEASE_PATH.matcher(writePath).matches())
+            removeIf(key -> key.path().equals(writePath) || !isReleasePath(key.path()));
+        else if(RELEASES_PATH.equals(writePath))
+            removeIf(key -> !isReleasePath(key.path()));
+        else
+            cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private void removeIf(Predicate<ResponseCacheKey> predicate) {
+        cache.asMap().keySet().removeIf(predicate);
+    }
+
+    private static boolean isReleasePath(String path) {
+        return RELEASE_PATH.matcher(path).matches();
+    }
+}
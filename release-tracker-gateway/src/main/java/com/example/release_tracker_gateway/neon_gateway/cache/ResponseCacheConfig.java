@@ -0,0 +1,30 @@
+package com.example.release_tracker_gateway.neon_gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfig {
+    public static final String RESPONSE_CACHE = "gatewayResponses";
+
+    /**
+     * Weighed by body and header bytes, so the bound holds regardless of page sizes.
+     * Hit/miss/eviction counters are published as cache.gets and cache.evictions.
+     */
+    @Bean
+    public GatewayResponseCache gatewayResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        var cache = Caffeine.newBuilder()
+                .maximumWeight(properties.maximumWeight().toBytes())
+                .<ResponseCacheKey, CachedResponse>weigher((key, response) -> response.weight())
+                .expireAfterWrite(properties.timeToLive())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, RESPONSE_CACHE);
+        return new GatewayResponseCache(cache);
+    }
+}
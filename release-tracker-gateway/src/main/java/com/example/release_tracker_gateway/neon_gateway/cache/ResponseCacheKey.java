@@ -0,0 +1,8 @@
+package com.example.release_tracker_gateway.neon_gateway.cache;
+
+/**
+ * Raw path and query of a GET request plus the caller's sorted roles, so responses are
+ * shared between users of the same role but never across roles.
+ */
+public record ResponseCacheKey(String path, String query, String roles) {
+}
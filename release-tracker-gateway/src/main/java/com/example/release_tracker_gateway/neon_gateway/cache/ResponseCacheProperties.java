@@ -0,0 +1,19 @@
+package com.example.release_tracker_gateway.neon_gateway.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Limits for the gateway response cache. maximumWeight bounds the summed body and header
+ * size of all entries; responses larger than maxEntrySize are proxied but never stored.
+ */
+@ConfigurationProperties(prefix = "release-tracker.gateway.response-cache")
+public record ResponseCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("32MB") DataSize maximumWeight,
+        @DefaultValue("512KB") DataSize maxEntrySize,
+        @DefaultValue("60s") Duration timeToLive) {
+}
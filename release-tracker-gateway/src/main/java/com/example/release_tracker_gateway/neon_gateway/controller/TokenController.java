@@ -0,0 +1,36 @@
+package com.example.release_tracker_gateway.neon_gateway.controller;
+
+import com.example.release_tracker_gateway.neon_gateway.dto.TokenResponseDTO;
+import com.example.release_tracker_gateway.neon_gateway.security.TokenService;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@RestController
+public class TokenController {
+    private final TokenService tokenService;
+
+    public TokenController(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    /**
+     * Exchanges Basic credentials for a bearer token. A bearer token cannot be exchanged for
+     * a new one, so a leaked token stops working when it expires.
+     */
+    @PostMapping("/auth/token")
+    public TokenResponseDTO issueToken(Authentication authentication) {
+        if(!(authentication instanceof UsernamePasswordAuthenticationToken))
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Tokens are only issued for Basic credentials");
+
+        var token = tokenService.issue(authentication);
+        return new TokenResponseDTO(token.value(), "Bearer",
+                Duration.between(Instant.now(), token.expiresAt()).toSeconds());
+    }
+}
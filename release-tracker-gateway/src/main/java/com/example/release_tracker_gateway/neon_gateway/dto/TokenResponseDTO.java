@@ -0,0 +1,9 @@
+package com.example.release_tracker_gateway.neon_gateway.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record TokenResponseDTO(
+        @JsonProperty("access_token") String accessToken,
+        @JsonProperty("token_type") String tokenType,
+        @JsonProperty("expires_in") long expiresIn) {
+}
@@ -0,0 +1,67 @@
+package com.example.release_tracker_gateway.neon_gateway.filter;
+
+import com.example.release_tracker_gateway.neon_gateway.limit.AdaptiveConcurrencyLimiter;
+import com.example.release_tracker_gateway.neon_gateway.limit.LoadSheddingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Rejects requests with 503 and Retry-After once the requests in flight to the backend
+ * reach the adaptive limit. Runs after the route filters, so responses served from the
+ * gateway cache and requests already refused by the rate limiter never take a slot.
+ */
+public class LoadSheddingGlobalFilter implements GlobalFilter, Ordered {
+    public static final int ORDER = 10_000;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final LoadSheddingProperties properties;
+    private final Counter rejected;
+
+    public LoadSheddingGlobalFilter(AdaptiveConcurrencyLimiter limiter, LoadSheddingProperties properties, MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.properties = properties;
+        this.rejected = Counter.builder("gateway.load_shedding.rejected")
+                .description("Requests rejected with 503 because the backend concurrency limit was reached")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if(!properties.enabled() || route == null || properties.excludedRoutes().contains(route.getId()))
+            return chain.filter(exchange);
+
+        if(!limiter.tryAcquire()) {
+            rejected.increment();
+            var response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, properties.retryAfter().toSeconds())));
+            return response.setComplete();
+        }
+
+        long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> {
+            if(signal == SignalType.CANCEL) {
+                limiter.abandon();
+                return;
+            }
+            var status = exchange.getResponse().getStatusCode();
+            limiter.release(System.nanoTime() - start, signal == SignalType.ON_ERROR
+                    || (status != null && status.value() == HttpStatus.SERVICE_UNAVAILABLE.value()));
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.release_tracker_gateway.neon_gateway.filter;
+
+import com.example.release_tracker_gateway.neon_gateway.cache.CachedResponse;
+import com.example.release_tracker_gateway.neon_gateway.cache.GatewayResponseCache;
+import com.example.release_tracker_gateway.neon_gateway.cache.ResponseCacheKey;
+import com.example.release_tracker_gateway.neon_gateway.cache.ResponseCacheProperties;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Serves GET requests from {@link GatewayResponseCache} and stores successful proxied
+ * responses; on any other method it invalidates the cache once the backend answered with
+ * a 2xx, before the response is committed to the client. Added per route as
+ * "- ReleaseResponseCache" on the read routes and on every write route that can change them.
+ * <p>
+ * Ordered ahead of {@link NettyWriteResponseFilter} so the response it writes goes
+ * through the caching decorator.
+ */
+@Component
+public class ReleaseResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ReleaseResponseCacheGatewayFilterFactory.Config> {
+    private static final Logger logger = LoggerFactory.getLogger((ReleaseResponseCacheGatewayFilterFactory.class));
+    // only headers describing the representation, including the listing's pagination and
+    // count headers, are stored; per-request ones such as X-RateLimit-*, Retry-After or
+    // X-Request-Id are left to the request being answered
+    private static final Set<String> CACHED_HEADERS = Set.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_DISPOSITION, HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED,
+            HttpHeaders.CACHE_CONTROL, HttpHeaders.VARY,
+            "X-Has-Next", "X-Next-Cursor", "X-Total-Count", "X-Total-Count-Estimate");
+    private final GatewayResponseCache cache;
+    private final ResponseCacheProperties properties;
+
+    public ReleaseResponseCacheGatewayFilterFactory(GatewayResponseCache cache, ResponseCacheProperties properties) {
+        super(Config.class);
+        this.cache = cache;
+        this.properties = properties;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            if(!properties.enabled())
+                return chain.filter(exchange);
+            if(HttpMethod.GET.equals(exchange.getRequest().getMethod()))
+                return cachedGet(exchange, chain);
+            return invalidatingWrite(exchange, chain);
+        }, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private Mono<Void> cachedGet(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return exchange.getPrincipal()
+                .map(ReleaseResponseCacheGatewayFilterFactory::roles)
+                .defaultIfEmpty("")
+                .flatMap(roles -> {
+                    var uri = exchange.getRequest().getURI();
+                    var key = new ResponseCacheKey(uri.getRawPath(), Objects.toString(uri.getRawQuery(), ""), roles);
+                    var cached = cache.get(key);
+                    if(cached != null)
+                        return writeCached(exchange, cached);
+
+                    var response = new CachingResponse(exchange.getResponse(), key, cache.generation());
+                    return chain.filter(exchange.mutate().response(response).build());
+                });
+    }
+
+    private Mono<Void> invalidatingWrite(ServerWebExchange exchange, GatewayFilterChain chain) {
+        var response = exchange.getResponse();
+        response.beforeCommit(() -> {
+            var status = response.getStatusCode();
+            if(status != null && status.is2xxSuccessful()) {
+                var path = exchange.getRequest().getURI().getRawPath();
+                cache.invalidate(path);
+                logger.debug("Invalidated response cache after {} {}", exchange.getRequest().getMethod(), path);
+            }
+            return Mono.empty();
+        });
+        return chain.filter(exchange);
+    }
+
+    private static Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+        var response = exchange.getResponse();
+        response.getHeaders().putAll(cached.headers());
+        response.getHeaders().set(HttpHeaders.AGE,
+                String.valueOf(Duration.between(cached.cachedAt(), Instant.now()).toSeconds()));
+
+        if(matchesETag(exchange.getRequest().getHeaders().getIfNoneMatch(), cached.headers().getETag())) {
+            response.getHeaders().remove(HttpHeaders.CONTENT_TYPE);
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(cached.status());
+        response.getHeaders().setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    /**
+     * Weak comparison, as for If-None-Match on the backend.
+     */
+    private static boolean matchesETag(List<String> ifNoneMatch, String eTag) {
+        if(eTag == null)
+            return false;
+        var opaqueTag = stripWeakPrefix(eTag);
+        return ifNoneMatch.stream().anyMatch(candidate -> candidate.equals("*") || stripWeakPrefix(candidate).equals(opaqueTag));
+    }
+
+    private static String stripWeakPrefix(String eTag) {
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
+
+    private static String roles(Principal principal) {
+        if(!(principal instanceof Authentication authentication))
+            return "";
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+
+    public static class Config {
+    }
+
+    /**
+     * Buffers a 200 response body so it can be stored, then writes it on unchanged.
+     */
+    private class CachingResponse extends ServerHttpResponseDecorator {
+        private final ResponseCacheKey key;
+        private final long generation;
+
+        CachingResponse(ServerHttpResponse delegate, ResponseCacheKey key, long generation) {
+            super(delegate);
+            this.key = key;
+            this.generation = generation;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if(!HttpStatus.OK.equals(getStatusCode()))
+                return super.writeWith(body);
+
+            return DataBufferUtils.join(body).flatMap(joined -> {
+                var bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+
+                if(bytes.length <= properties.maxEntrySize().toBytes())
+                    cache.put(key, new CachedResponse(HttpStatus.OK, cacheableHeaders(getHeaders()), bytes, Instant.now()), generation);
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+
+        private static HttpHeaders cacheableHeaders(HttpHeaders headers) {
+            var copy = new HttpHeaders();
+            headers.forEach((name, values) -> {
+                if(CACHED_HEADERS.stream().anyMatch(name::equalsIgnoreCase))
+                    copy.put(name, List.copyOf(values));
+            });
+            return HttpHeaders.readOnlyHttpHeaders(copy);
+        }
+    }
+}
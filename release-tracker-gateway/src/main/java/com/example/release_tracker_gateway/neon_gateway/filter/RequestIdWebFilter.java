@@ -0,0 +1,44 @@
+package com.example.release_tracker_gateway.neon_gateway.filter;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Gives every request an X-Request-Id before security and routing run, forwards it to the
+ * backend, which logs under it, and returns it to the caller, also on responses the
+ * gateway answers itself (401, 429, 503 or the response cache). A well-formed id sent by
+ * the caller is kept; the format is the one the backend accepts.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestIdWebFilter implements WebFilter {
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        var requestId = exchange.getRequest().getHeaders().getFirst(REQUEST_ID_HEADER);
+        if(requestId == null || !VALID_REQUEST_ID.matcher(requestId).matches())
+            requestId = Long.toHexString(ThreadLocalRandom.current().nextLong());
+
+        var id = requestId;
+        // set on commit, replacing the copy the backend echoes on proxied responses
+        var response = exchange.getResponse();
+        response.beforeCommit(() -> {
+            response.getHeaders().set(REQUEST_ID_HEADER, id);
+            return Mono.empty();
+        });
+        var request = exchange.getRequest().mutate()
+                .headers(headers -> headers.set(REQUEST_ID_HEADER, id))
+                .build();
+        return chain.filter(exchange.mutate().request(request).build());
+    }
+}
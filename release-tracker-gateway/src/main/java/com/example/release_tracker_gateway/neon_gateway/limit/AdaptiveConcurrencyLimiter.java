@@ -0,0 +1,56 @@
+package com.example.release_tracker_gateway.neon_gateway.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Additive-increase/multiplicative-decrease concurrency limit. Each fast response raises
+ * the limit by 1/limit, so it grows by about one per round of requests; each slow or
+ * overloaded response multiplies it by backoffRatio.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LoadSheddingProperties properties;
+    private final long latencyThresholdNanos;
+    private volatile double limit;
+
+    public AdaptiveConcurrencyLimiter(LoadSheddingProperties properties) {
+        this.properties = properties;
+        this.latencyThresholdNanos = properties.latencyThreshold().toNanos();
+        this.limit = properties.initialLimit();
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if(current >= (int) limit)
+                return false;
+            if(inFlight.compareAndSet(current, current + 1))
+                return true;
+        }
+    }
+
+    public void release(long latencyNanos, boolean overloaded) {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            if(overloaded || latencyNanos > latencyThresholdNanos)
+                limit = Math.max(properties.minLimit(), limit * properties.backoffRatio());
+            else
+                limit = Math.min(properties.maxLimit(), limit + 1 / limit);
+        }
+    }
+
+    /**
+     * Releases a slot without adjusting the limit, for requests that were cancelled.
+     */
+    public void abandon() {
+        inFlight.decrementAndGet();
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
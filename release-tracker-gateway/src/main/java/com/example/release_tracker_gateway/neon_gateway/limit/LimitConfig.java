@@ -0,0 +1,41 @@
+package com.example.release_tracker_gateway.neon_gateway.limit;
+
+import com.example.release_tracker_gateway.neon_gateway.filter.LoadSheddingGlobalFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({RateLimitProperties.class, LoadSheddingProperties.class})
+public class LimitConfig {
+
+    /**
+     * Picked up by the RequestRateLimiter default filter, together with the gateway's
+     * PrincipalNameKeyResolver.
+     */
+    @Bean
+    public TokenBucketRateLimiter tokenBucketRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        return new TokenBucketRateLimiter(properties, meterRegistry);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(LoadSheddingProperties properties, MeterRegistry meterRegistry) {
+        var limiter = new AdaptiveConcurrencyLimiter(properties);
+        Gauge.builder("gateway.load_shedding.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+                .description("Current adaptive limit on requests in flight to the backend")
+                .register(meterRegistry);
+        Gauge.builder("gateway.load_shedding.in_flight", limiter, AdaptiveConcurrencyLimiter::inFlight)
+                .description("Requests currently in flight to the backend")
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    @Bean
+    public LoadSheddingGlobalFilter loadSheddingGlobalFilter(AdaptiveConcurrencyLimiter limiter,
+                                                             LoadSheddingProperties properties,
+                                                             MeterRegistry meterRegistry) {
+        return new LoadSheddingGlobalFilter(limiter, properties, meterRegistry);
+    }
+}
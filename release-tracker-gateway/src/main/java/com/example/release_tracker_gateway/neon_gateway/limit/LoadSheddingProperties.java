@@ -0,0 +1,25 @@
+package com.example.release_tracker_gateway.neon_gateway.limit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Adaptive limit on requests in flight to the backend. The limit grows while upstream
+ * latency stays under latencyThreshold and is cut by backoffRatio whenever a response is
+ * slower or the backend answers 503. Routes in excludedRoutes (long-running streams) are
+ * neither limited nor sampled.
+ */
+@ConfigurationProperties(prefix = "release-tracker.gateway.load-shedding")
+public record LoadSheddingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("20") int initialLimit,
+        @DefaultValue("4") int minLimit,
+        @DefaultValue("200") int maxLimit,
+        @DefaultValue("500ms") Duration latencyThreshold,
+        @DefaultValue("0.9") double backoffRatio,
+        @DefaultValue("1s") Duration retryAfter,
+        @DefaultValue Set<String> excludedRoutes) {
+}
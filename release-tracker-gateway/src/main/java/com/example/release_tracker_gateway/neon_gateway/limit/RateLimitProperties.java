@@ -0,0 +1,32 @@
+package com.example.release_tracker_gateway.neon_gateway.limit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Token buckets per authenticated user and route. A route without an entry under routes
+ * uses defaultLimit; idle buckets are dropped after idleTimeout.
+ */
+@ConfigurationProperties(prefix = "release-tracker.gateway.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue Limit defaultLimit,
+        @DefaultValue Map<String, Limit> routes,
+        @DefaultValue("10m") Duration idleTimeout,
+        @DefaultValue("100000") long maximumBuckets) {
+
+    public Limit limitFor(String routeId) {
+        return routes.getOrDefault(routeId, defaultLimit);
+    }
+
+    /**
+     * replenishRate tokens are added per second, up to burstCapacity; each request takes one.
+     */
+    public record Limit(
+            @DefaultValue("100") int replenishRate,
+            @DefaultValue("200") int burstCapacity) {
+    }
+}
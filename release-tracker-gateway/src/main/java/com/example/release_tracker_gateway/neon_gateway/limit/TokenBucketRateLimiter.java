@@ -0,0 +1,112 @@
+package com.example.release_tracker_gateway.neon_gateway.limit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-process token-bucket {@link RateLimiter} for the RequestRateLimiter filter, keyed by
+ * route id and the key resolver's value (the principal name). Buckets are refilled lazily
+ * on access, so idle keys cost nothing until they expire from the bucket cache.
+ * <p>
+ * State is per gateway instance: with several instances each one enforces the limits on
+ * the share of traffic it receives.
+ */
+public class TokenBucketRateLimiter implements RateLimiter<RateLimitProperties.Limit> {
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+    public static final String RETRY_AFTER_HEADER = "Retry-After";
+    private final RateLimitProperties properties;
+    private final Cache<String, TokenBucket> buckets;
+    private final MeterRegistry meterRegistry;
+
+    public TokenBucketRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maximumBuckets())
+                .expireAfterAccess(properties.idleTimeout())
+                .build();
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        var limit = properties.limitFor(routeId);
+        if(!properties.enabled())
+            return Mono.just(new Response(true, Map.of()));
+
+        var bucket = buckets.get(routeId + "\n" + id, key -> new TokenBucket(limit.replenishRate(), limit.burstCapacity()));
+        long waitNanos = bucket.tryConsume();
+
+        var headers = new HashMap<String, String>();
+        headers.put(REMAINING_HEADER, String.valueOf(bucket.remaining()));
+        headers.put(REPLENISH_RATE_HEADER, String.valueOf(limit.replenishRate()));
+        headers.put(BURST_CAPACITY_HEADER, String.valueOf(limit.burstCapacity()));
+        if(waitNanos == 0)
+            return Mono.just(new Response(true, headers));
+
+        headers.put(RETRY_AFTER_HEADER, String.valueOf(Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L)));
+        rejected(routeId).increment();
+        return Mono.just(new Response(false, headers));
+    }
+
+    private Counter rejected(String routeId) {
+        return Counter.builder("gateway.rate_limit.rejected")
+                .description("Requests rejected with 429 by the per-user rate limit")
+                .tag("route", routeId)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Map<String, RateLimitProperties.Limit> getConfig() {
+        return properties.routes();
+    }
+
+    @Override
+    public Class<RateLimitProperties.Limit> getConfigClass() {
+        return RateLimitProperties.Limit.class;
+    }
+
+    @Override
+    public RateLimitProperties.Limit newConfig() {
+        return properties.defaultLimit();
+    }
+
+    static final class TokenBucket {
+        private final double nanosPerToken;
+        private final int capacity;
+        private double tokens;
+        private long refilledAt = System.nanoTime();
+
+        TokenBucket(int replenishRate, int capacity) {
+            this.nanosPerToken = 1_000_000_000.0 / replenishRate;
+            this.capacity = capacity;
+            this.tokens = capacity;
+        }
+
+        /**
+         * Takes a token and returns 0, or returns the nanoseconds until one is available.
+         */
+        synchronized long tryConsume() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - refilledAt) / nanosPerToken);
+            refilledAt = now;
+            if(tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) * nanosPerToken);
+        }
+
+        synchronized long remaining() {
+            return (long) tokens;
+        }
+    }
+}
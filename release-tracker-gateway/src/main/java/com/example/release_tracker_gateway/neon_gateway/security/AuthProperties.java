@@ -0,0 +1,20 @@
+package com.example.release_tracker_gateway.neon_gateway.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Token and verified-credential cache settings. Without a tokenSecret a random key is
+ * generated at startup, so tokens are only valid on the instance that issued them and
+ * until it restarts.
+ */
+@ConfigurationProperties(prefix = "release-tracker.gateway.auth")
+public record AuthProperties(
+        String tokenSecret,
+        @DefaultValue("15m") Duration tokenTtl,
+        @DefaultValue("true") boolean credentialCacheEnabled,
+        @DefaultValue("5m") Duration credentialCacheTtl,
+        @DefaultValue("10000") long credentialCacheMaximumSize) {
+}
@@ -0,0 +1,24 @@
+package com.example.release_tracker_gateway.neon_gateway.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * gateway.auth timers: time spent authenticating one request, by scheme (basic, bearer)
+ * and result (cached, verified, rejected).
+ */
+final class AuthTimers {
+    static final String NAME = "gateway.auth";
+
+    private AuthTimers() {
+    }
+
+    static Timer of(MeterRegistry meterRegistry, String scheme, String result) {
+        return Timer.builder(NAME)
+                .description("Time spent authenticating a request")
+                .tag("scheme", scheme)
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
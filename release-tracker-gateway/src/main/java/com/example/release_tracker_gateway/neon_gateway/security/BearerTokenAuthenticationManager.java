@@ -0,0 +1,52 @@
+package com.example.release_tracker_gateway.neon_gateway.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authenticates "Authorization: Bearer" requests with tokens from {@link TokenService}.
+ */
+public class BearerTokenAuthenticationManager implements ReactiveAuthenticationManager {
+    private static final String BEARER_PREFIX = "Bearer ";
+    private final TokenService tokenService;
+    private final Timer verifiedTimer;
+    private final Timer rejectedTimer;
+
+    public BearerTokenAuthenticationManager(TokenService tokenService, MeterRegistry meterRegistry) {
+        this.tokenService = tokenService;
+        this.verifiedTimer = AuthTimers.of(meterRegistry, "bearer", "verified");
+        this.rejectedTimer = AuthTimers.of(meterRegistry, "bearer", "rejected");
+    }
+
+    /**
+     * Extracts the bearer token; requests without one are left to the other authentication methods.
+     */
+    public static Mono<Authentication> convert(ServerWebExchange exchange) {
+        var authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if(authorization == null || !authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length()))
+            return Mono.empty();
+        var token = authorization.substring(BEARER_PREFIX.length()).strip();
+        return Mono.just(new PreAuthenticatedAuthenticationToken(token, token));
+    }
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        long start = System.nanoTime();
+        var verified = tokenService.verify((String) authentication.getCredentials());
+        if(verified == null) {
+            rejectedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Mono.error(new BadCredentialsException("Invalid or expired token"));
+        }
+        verifiedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return Mono.just(verified);
+    }
+}
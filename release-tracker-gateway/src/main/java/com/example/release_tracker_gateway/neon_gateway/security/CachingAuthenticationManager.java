@@ -0,0 +1,77 @@
+package com.example.release_tracker_gateway.neon_gateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.Mac;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers Basic credentials that passed the (BCrypt) delegate for a short time, so a
+ * client repeating the same username and password pays for one BCrypt comparison per TTL.
+ * Entries are keyed by an HMAC of username and password under a random per-process key,
+ * so neither the password nor an offline-guessable hash of it is kept in memory. Failed
+ * attempts are never cached and still go through the delegate.
+ */
+public class CachingAuthenticationManager implements ReactiveAuthenticationManager {
+    public static final String CREDENTIAL_CACHE = "gatewayCredentials";
+    private final ReactiveAuthenticationManager delegate;
+    private final Cache<String, Authentication> verified;
+    private final Mac prototype = TokenService.hmac(TokenService.randomKey());
+    private final Timer cachedTimer;
+    private final Timer verifiedTimer;
+    private final Timer rejectedTimer;
+
+    public CachingAuthenticationManager(ReactiveAuthenticationManager delegate, AuthProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(properties.credentialCacheEnabled() ? properties.credentialCacheMaximumSize() : 0)
+                .expireAfterWrite(properties.credentialCacheTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, CREDENTIAL_CACHE);
+        this.cachedTimer = AuthTimers.of(meterRegistry, "basic", "cached");
+        this.verifiedTimer = AuthTimers.of(meterRegistry, "basic", "verified");
+        this.rejectedTimer = AuthTimers.of(meterRegistry, "basic", "rejected");
+    }
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        long start = System.nanoTime();
+        var key = fingerprint(authentication.getName(), String.valueOf(authentication.getCredentials()));
+        var cached = verified.getIfPresent(key);
+        if(cached != null) {
+            cachedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Mono.just(cached);
+        }
+
+        return delegate.authenticate(authentication)
+                .map(result -> {
+                    var remembered = UsernamePasswordAuthenticationToken.authenticated(result.getPrincipal(), null, result.getAuthorities());
+                    verified.put(key, remembered);
+                    return (Authentication) remembered;
+                })
+                .doOnSuccess(result -> (result != null ? verifiedTimer : rejectedTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                .doOnError(e -> rejectedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    }
+
+    private String fingerprint(String username, String password) {
+        try {
+            var mac = (Mac) prototype.clone();
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
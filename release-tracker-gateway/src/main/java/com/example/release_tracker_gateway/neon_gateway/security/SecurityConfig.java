@@ -1,10 +1,16 @@
 package com.example.release_tracker_gateway.neon_gateway.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
 import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.core.userdetails.MapReactiveUserDetailsService;
 import org.springframework.security.core.userdetails.User;
@@ -12,24 +18,33 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.authentication.ServerAuthenticationEntryPointFailureHandler;
 import reactor.core.publisher.Mono;
-import static org.springframework.security.config.Customizer.withDefaults;
 
 @Configuration
 @EnableWebFluxSecurity
 @EnableReactiveMethodSecurity
+@EnableConfigurationProperties(AuthProperties.class)
 public class SecurityConfig {
     @Bean
-    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         ReactiveAuthenticationManager basicAuthenticationManager,
+                                                         TokenService tokenService,
+                                                         MeterRegistry meterRegistry) {
         return http
                 .authorizeExchange(exchange -> exchange
                         .pathMatchers("/releases/welcome", "/logout").permitAll()
+                        .pathMatchers("/actuator/health").permitAll()
+                        .pathMatchers(HttpMethod.POST, "/auth/token").authenticated()
                         .pathMatchers(HttpMethod.GET,"/releases/**").hasAnyRole("USER", "ADMIN")
                         .pathMatchers("/releases/**").hasRole("ADMIN")
                         .anyExchange().hasRole("ADMIN")
 
                 )
-                .httpBasic(withDefaults())
+                .httpBasic(basic -> basic.authenticationManager(basicAuthenticationManager))
+                .addFilterAt(bearerAuthenticationFilter(tokenService, meterRegistry), SecurityWebFiltersOrder.AUTHENTICATION)
                 .logout(logout -> logout
                         .logoutUrl("/logout")
                         .logoutSuccessHandler((exchange, authentication) -> {
@@ -45,6 +60,26 @@ public class SecurityConfig {
                 .csrf().disable()
                 .build();
     }
+    /**
+     * Basic authentication checks the BCrypt hash only on a verified-credential cache miss.
+     */
+    @Bean
+    public ReactiveAuthenticationManager basicAuthenticationManager(MapReactiveUserDetailsService userDetailsService,
+                                                                    AuthProperties properties,
+                                                                    MeterRegistry meterRegistry) {
+        var bcryptAuthenticationManager = new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
+        bcryptAuthenticationManager.setPasswordEncoder(passwordEncoder());
+        return new CachingAuthenticationManager(bcryptAuthenticationManager, properties, meterRegistry);
+    }
+
+    private static AuthenticationWebFilter bearerAuthenticationFilter(TokenService tokenService, MeterRegistry meterRegistry) {
+        var filter = new AuthenticationWebFilter(new BearerTokenAuthenticationManager(tokenService, meterRegistry));
+        filter.setServerAuthenticationConverter(BearerTokenAuthenticationManager::convert);
+        filter.setAuthenticationFailureHandler(new ServerAuthenticationEntryPointFailureHandler(
+                new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED)));
+        return filter;
+    }
+
     @Bean
     public MapReactiveUserDetailsService userDetailsService() {
         var user = User.builder()
@@ -0,0 +1,106 @@
+package com.example.release_tracker_gateway.neon_gateway.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.stream.Collectors;
+
+/**
+ * Issues and verifies bearer tokens of the form base64url(payload).base64url(HMAC-SHA256),
+ * where the payload is "username\nroles\nexpiresAtEpochSeconds". Verifying a token is one
+ * HMAC over a few dozen bytes instead of a BCrypt comparison.
+ */
+@Service
+public class TokenService {
+    private static final Logger logger = LoggerFactory.getLogger((TokenService.class));
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private final Mac prototype;
+    private final AuthProperties properties;
+
+    public TokenService(AuthProperties properties) {
+        this.properties = properties;
+        this.prototype = hmac(secret(properties.tokenSecret()));
+    }
+
+    public IssuedToken issue(Authentication authentication) {
+        var expiresAt = Instant.now().plus(properties.tokenTtl());
+        var roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.joining(","));
+        var payload = (authentication.getName() + "\n" + roles + "\n" + expiresAt.getEpochSecond()).getBytes(StandardCharsets.UTF_8);
+        return new IssuedToken(ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(sign(payload)), expiresAt);
+    }
+
+    /**
+     * Returns the authenticated caller, or null when the token is malformed, forged or expired.
+     */
+    public Authentication verify(String token) {
+        int separator = token.indexOf('.');
+        if(separator < 0)
+            return null;
+        try {
+            var payload = DECODER.decode(token.substring(0, separator));
+            var signature = DECODER.decode(token.substring(separator + 1));
+            if(!MessageDigest.isEqual(sign(payload), signature))
+                return null;
+
+            var fields = new String(payload, StandardCharsets.UTF_8).split("\n", -1);
+            if(fields.length != 3 || Instant.now().getEpochSecond() >= Long.parseLong(fields[2]))
+                return null;
+            return new PreAuthenticatedAuthenticationToken(fields[0], null,
+                    AuthorityUtils.commaSeparatedStringToAuthorityList(fields[1]));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    byte[] sign(byte[] payload) {
+        try {
+            return ((Mac) prototype.clone()).doFinal(payload);
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static Mac hmac(byte[] key) {
+        try {
+            var mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(key, ALGORITHM));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    static byte[] randomKey() {
+        var key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return key;
+    }
+
+    private static byte[] secret(String configured) {
+        if(StringUtils.hasText(configured))
+            return configured.getBytes(StandardCharsets.UTF_8);
+        logger.warn("No release-tracker.gateway.auth.token-secret configured, tokens are signed with a random per-instance key");
+        return randomKey();
+    }
+
+    public record IssuedToken(String value, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.release_tracker_gateway.neon_gateway.filter;
+
+import com.example.release_tracker_gateway.neon_gateway.cache.GatewayResponseCache;
+import com.example.release_tracker_gateway.neon_gateway.cache.ResponseCacheProperties;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ReleaseResponseCacheGatewayFilterFactoryTest {
+    private final AtomicInteger backendCalls = new AtomicInteger();
+    private GatewayFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new ResponseCacheProperties(true, DataSize.ofMegabytes(1), DataSize.ofKilobytes(64), Duration.ofMinutes(1));
+        var cache = new GatewayResponseCache(Caffeine.newBuilder().build());
+        filter = new ReleaseResponseCacheGatewayFilterFactory(cache, properties).apply(new ReleaseResponseCacheGatewayFilterFactory.Config());
+    }
+
+    @Test
+    void testGetIsServedFromCacheUntilWriteSucceeds() {
+        assertEquals("release 1 v1", get("/releases/1", "ROLE_USER", null).getResponse().getBodyAsString().block());
+        var cached = get("/releases/1", "ROLE_USER", null);
+        assertEquals("release 1 v1", cached.getResponse().getBodyAsString().block());
+        assertEquals("0", cached.getResponse().getHeaders().getFirst(HttpHeaders.AGE));
+        assertEquals(1, backendCalls.get());
+
+        get("/releases/1", "ROLE_ADMIN", null);
+        assertEquals(2, backendCalls.get());
+
+        write("/releases/2", HttpStatus.OK);
+        get("/releases/1", "ROLE_USER", null);
+        assertEquals(2, backendCalls.get());
+
+        write("/releases/1", HttpStatus.NOT_FOUND);
+        get("/releases/1", "ROLE_USER", null);
+        assertEquals(2, backendCalls.get());
+
+        write("/releases/1", HttpStatus.OK);
+        assertEquals("release 1 v3", get("/releases/1", "ROLE_USER", null).getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void testOnlyRepresentationHeadersAreReplayed() {
+        get("/releases/1", "ROLE_USER", null);
+        var cached = get("/releases/1", "ROLE_USER", null).getResponse().getHeaders();
+
+        assertEquals(1, backendCalls.get());
+        assertEquals(MediaType.APPLICATION_JSON, cached.getContentType());
+        assertEquals("W/\"v1\"", cached.getETag());
+        assertNull(cached.getFirst("X-RateLimit-Remaining"));
+        assertNull(cached.getFirst("X-Request-Id"));
+        assertNull(cached.getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void testListingPaginationHeadersAreReplayed() {
+        get("/releases?cursor=abc", "ROLE_USER", null);
+        var cached = get("/releases?cursor=abc", "ROLE_USER", null).getResponse().getHeaders();
+
+        assertEquals(1, backendCalls.get());
+        assertEquals("true", cached.getFirst("X-Has-Next"));
+        assertEquals("next-1", cached.getFirst("X-Next-Cursor"));
+        assertEquals("42", cached.getFirst("X-Total-Count"));
+    }
+
+    @Test
+    void testCreateEvictsListingsOnly() {
+        get("/releases/1", "ROLE_USER", null);
+        get("/releases?status=CREATED", "ROLE_USER", null);
+        write("/releases", HttpStatus.CREATED);
+
+        get("/releases/1", "ROLE_USER", null);
+        assertEquals(2, backendCalls.get());
+        get("/releases?status=CREATED", "ROLE_USER", null);
+        assertEquals(3, backendCalls.get());
+    }
+
+    @Test
+    void testMatchingIfNoneMatchIsAnsweredByGateway() {
+        var eTag = get("/releases/1", "ROLE_USER", null).getResponse().getHeaders().getETag();
+
+        var revalidated = get("/releases/1", "ROLE_USER", eTag);
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getResponse().getStatusCode());
+        assertEquals(eTag, revalidated.getResponse().getHeaders().getETag());
+        assertEquals(1, backendCalls.get());
+    }
+
+    private MockServerWebExchange get(String uri, String role, String ifNoneMatch) {
+        var request = MockServerHttpRequest.get(uri);
+        if(ifNoneMatch != null)
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        var exchange = MockServerWebExchange.from(request);
+        filter.filter(authenticated(exchange, role), backend()).block();
+        return exchange;
+    }
+
+    private void write(String uri, HttpStatus status) {
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.put(uri));
+        filter.filter(authenticated(exchange, "ROLE_ADMIN"), ex -> {
+            ex.getResponse().setStatusCode(status);
+            return Mono.empty();
+        }).block();
+        exchange.getResponse().setComplete().block();
+    }
+
+    private static ServerWebExchange authenticated(ServerWebExchange exchange, String role) {
+        var authentication = new UsernamePasswordAuthenticationToken("someone", null, AuthorityUtils.createAuthorityList(role));
+        return exchange.mutate().principal(Mono.just(authentication)).build();
+    }
+
+    private GatewayFilterChain backend() {
+        return exchange -> {
+            var response = exchange.getResponse();
+            int version = backendCalls.incrementAndGet();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            response.getHeaders().setETag("W/\"v" + version + "\"");
+            response.getHeaders().set("X-RateLimit-Remaining", "9");
+            response.getHeaders().set("X-Request-Id", "request-" + version);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+            if(exchange.getRequest().getURI().getPath().equals("/releases")) {
+                response.getHeaders().set("X-Has-Next", "true");
+                response.getHeaders().set("X-Next-Cursor", "next-" + version);
+                response.getHeaders().set("X-Total-Count", "42");
+            }
+            var body = ("release 1 v" + version).getBytes(StandardCharsets.UTF_8);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.release_tracker_gateway.neon_gateway.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+public class RequestIdWebFilterTest {
+    private final RequestIdWebFilter filter = new RequestIdWebFilter();
+
+    @Test
+    void testWellFormedIdIsForwardedAndReturned() {
+        var forwarded = new AtomicReference<String>();
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/releases")
+                .header(RequestIdWebFilter.REQUEST_ID_HEADER, "client-42"));
+
+        filter.filter(exchange, ex -> {
+            forwarded.set(ex.getRequest().getHeaders().getFirst(RequestIdWebFilter.REQUEST_ID_HEADER));
+            return ex.getResponse().setComplete();
+        }).block();
+
+        assertEquals("client-42", forwarded.get());
+        assertEquals("client-42", exchange.getResponse().getHeaders().getFirst(RequestIdWebFilter.REQUEST_ID_HEADER));
+    }
+
+    @Test
+    void testMissingOrMalformedIdIsReplaced() {
+        var forwarded = new AtomicReference<String>();
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/releases")
+                .header(RequestIdWebFilter.REQUEST_ID_HEADER, "bad id\r\n"));
+
+        filter.filter(exchange, ex -> {
+            forwarded.set(ex.getRequest().getHeaders().getFirst(RequestIdWebFilter.REQUEST_ID_HEADER));
+            return ex.getResponse().setComplete();
+        }).block();
+
+        assertNotNull(forwarded.get());
+        assertNotEquals("bad id\r\n", forwarded.get());
+        assertEquals(forwarded.get(), exchange.getResponse().getHeaders().getFirst(RequestIdWebFilter.REQUEST_ID_HEADER));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.release_tracker_gateway.neon_gateway.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveConcurrencyLimiterTest {
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(2).toNanos();
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+            new LoadSheddingProperties(true, 4, 2, 6, Duration.ofMillis(500), 0.5, Duration.ofSeconds(1), Set.of()));
+
+    @Test
+    void testRejectsAboveLimitAndBacksOffOnSlowResponses() {
+        for(int i = 0; i < 4; i++)
+            assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.release(SLOW, false);
+        assertEquals(2, limiter.limit());
+        assertEquals(3, limiter.inFlight());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.release(FAST, true);
+        assertEquals(2, limiter.limit());
+    }
+
+    @Test
+    void testLimitGrowsWithFastResponsesUpToMax() {
+        for(int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(FAST, false);
+        }
+        assertEquals(6, limiter.limit());
+        assertEquals(0, limiter.inFlight());
+    }
+}
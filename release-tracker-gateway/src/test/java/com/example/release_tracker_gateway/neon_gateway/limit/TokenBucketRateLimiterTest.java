@@ -0,0 +1,46 @@
+package com.example.release_tracker_gateway.neon_gateway.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TokenBucketRateLimiterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(new RateLimitProperties(true,
+            new RateLimitProperties.Limit(100, 200),
+            Map.of("create-release", new RateLimitProperties.Limit(1, 2)),
+            Duration.ofMinutes(10), 1000), meterRegistry);
+
+    @Test
+    void testBucketIsPerRouteAndUser() {
+        assertTrue(rateLimiter.isAllowed("create-release", "admin").block().isAllowed());
+        assertTrue(rateLimiter.isAllowed("create-release", "admin").block().isAllowed());
+
+        var denied = rateLimiter.isAllowed("create-release", "admin").block();
+        assertFalse(denied.isAllowed());
+        assertEquals("1", denied.getHeaders().get(TokenBucketRateLimiter.RETRY_AFTER_HEADER));
+        assertEquals("0", denied.getHeaders().get(TokenBucketRateLimiter.REMAINING_HEADER));
+        assertEquals(1, meterRegistry.get("gateway.rate_limit.rejected").tag("route", "create-release").counter().count());
+
+        assertTrue(rateLimiter.isAllowed("create-release", "user").block().isAllowed());
+        var otherRoute = rateLimiter.isAllowed("list-releases", "admin").block();
+        assertTrue(otherRoute.isAllowed());
+        assertEquals("199", otherRoute.getHeaders().get(TokenBucketRateLimiter.REMAINING_HEADER));
+    }
+
+    @Test
+    void testBucketRefillsAtReplenishRate() throws InterruptedException {
+        var bucket = new TokenBucketRateLimiter.TokenBucket(20, 1);
+        assertEquals(0, bucket.tryConsume());
+        assertTrue(bucket.tryConsume() > 0);
+
+        Thread.sleep(60);
+        assertEquals(0, bucket.tryConsume());
+    }
+}
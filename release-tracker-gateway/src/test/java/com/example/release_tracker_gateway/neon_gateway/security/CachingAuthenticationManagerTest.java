@@ -0,0 +1,55 @@
+package com.example.release_tracker_gateway.neon_gateway.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CachingAuthenticationManagerTest {
+    private final AtomicInteger delegateCalls = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CachingAuthenticationManager authenticationManager = new CachingAuthenticationManager(
+            authentication -> {
+                delegateCalls.incrementAndGet();
+                if(!"user".equals(authentication.getCredentials()))
+                    return Mono.error(new BadCredentialsException("Invalid Credentials"));
+                return Mono.just(UsernamePasswordAuthenticationToken.authenticated(
+                        authentication.getName(), "$2a$10$hash", AuthorityUtils.createAuthorityList("ROLE_USER")));
+            },
+            new AuthProperties(null, Duration.ofMinutes(15), true, Duration.ofMinutes(5), 100),
+            meterRegistry);
+
+    @Test
+    void testVerifiedCredentialsSkipTheDelegate() {
+        var first = authenticationManager.authenticate(basic("user", "user")).block();
+        var second = authenticationManager.authenticate(basic("user", "user")).block();
+
+        assertEquals(1, delegateCalls.get());
+        assertEquals("user", second.getName());
+        assertEquals(first.getAuthorities(), second.getAuthorities());
+        assertEquals(null, second.getCredentials());
+        assertEquals(1, meterRegistry.get(AuthTimers.NAME).tag("result", "cached").timer().count());
+    }
+
+    @Test
+    void testRejectedCredentialsAreNotCached() {
+        authenticationManager.authenticate(basic("user", "user")).block();
+
+        assertThrows(BadCredentialsException.class, () -> authenticationManager.authenticate(basic("user", "wrong")).block());
+        assertThrows(BadCredentialsException.class, () -> authenticationManager.authenticate(basic("user", "wrong")).block());
+        assertEquals(3, delegateCalls.get());
+        assertEquals(2, meterRegistry.get(AuthTimers.NAME).tag("result", "rejected").timer().count());
+    }
+
+    private static UsernamePasswordAuthenticationToken basic(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.release_tracker_gateway.neon_gateway.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class TokenServiceTest {
+    private final UsernamePasswordAuthenticationToken admin = UsernamePasswordAuthenticationToken.authenticated(
+            "admin", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN"));
+
+    @Test
+    void testIssuedTokenVerifiesToSameUserAndRoles() {
+        var tokenService = tokenService("secret", Duration.ofMinutes(15));
+
+        var verified = tokenService.verify(tokenService.issue(admin).value());
+
+        assertEquals("admin", verified.getName());
+        assertEquals(AuthorityUtils.createAuthorityList("ROLE_ADMIN"), verified.getAuthorities());
+    }
+
+    @Test
+    void testTamperedForeignOrExpiredTokensAreRejected() {
+        var tokenService = tokenService("secret", Duration.ofMinutes(15));
+        var token = tokenService.issue(admin).value();
+        var payload = token.substring(0, token.indexOf('.'));
+        var signature = token.substring(token.indexOf('.') + 1);
+
+        var forgedPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                new String(Base64.getUrlDecoder().decode(payload), StandardCharsets.UTF_8).replace("admin", "other").getBytes(StandardCharsets.UTF_8));
+        assertNull(tokenService.verify(forgedPayload + "." + signature));
+        assertNull(tokenService.verify(tokenService("other", Duration.ofMinutes(15)).issue(admin).value()));
+        assertNull(tokenService.verify(tokenService("secret", Duration.ofSeconds(-1)).issue(admin).value()));
+        assertNull(tokenService.verify("not-a-token"));
+        assertNull(tokenService.verify("%%%.%%%"));
+    }
+
+    private static TokenService tokenService(String secret, Duration ttl) {
+        return new TokenService(new AuthProperties(secret, ttl, true, Duration.ofMinutes(5), 100));
+    }
+}
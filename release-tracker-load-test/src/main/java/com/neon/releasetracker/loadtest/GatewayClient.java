@@ -0,0 +1,115 @@
+package com.neon.releasetracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Sends requests through the gateway with the gateway's in-memory credentials: reads as
+ * "user" (ROLE_USER), writes as "admin" (ROLE_ADMIN). After useTokens() the credentials
+ * are exchanged for bearer tokens, renewed shortly before they expire.
+ */
+class GatewayClient {
+    private static final String USER = basic("user", "user");
+    private static final String ADMIN = basic("admin", "admin");
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration TOKEN_RENEWAL_MARGIN = Duration.ofMinutes(1);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private volatile String userAuthorization = USER;
+    private volatile String adminAuthorization = ADMIN;
+    private volatile Instant renewTokensAt;
+
+    GatewayClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    void useTokens() {
+        renewTokens(null);
+    }
+
+    Response send(String method, String path, String jsonBody) {
+        var renewAt = renewTokensAt;
+        if(renewAt != null && Instant.now().isAfter(renewAt))
+            renewTokens(renewAt);
+
+        var builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", method.equals("GET") ? userAuthorization : adminAuthorization);
+        if(jsonBody != null)
+            builder.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(jsonBody));
+        else
+            builder.method(method, HttpRequest.BodyPublishers.noBody());
+
+        long start = System.nanoTime();
+        try {
+            var response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            return new Response(response.statusCode(), response.body(), micros(start), null);
+        } catch (IOException e) {
+            return new Response(0, null, micros(start), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Response(0, null, micros(start), e);
+        }
+    }
+
+    private synchronized void renewTokens(Instant expectedRenewAt) {
+        if(renewTokensAt != expectedRenewAt)
+            return;
+        var user = issueToken(USER);
+        var admin = issueToken(ADMIN);
+        userAuthorization = "Bearer " + user.path("access_token").asText();
+        adminAuthorization = "Bearer " + admin.path("access_token").asText();
+        var expiresIn = Math.min(user.path("expires_in").asLong(), admin.path("expires_in").asLong());
+        renewTokensAt = Instant.now().plusSeconds(expiresIn).minus(TOKEN_RENEWAL_MARGIN);
+    }
+
+    private JsonNode issueToken(String basicAuthorization) {
+        var request = HttpRequest.newBuilder(URI.create(baseUrl + "/auth/token"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", basicAuthorization)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        try {
+            var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if(response.statusCode() != 200)
+                throw new IllegalStateException("Token request failed with status " + response.statusCode() + ": " + response.body());
+            return objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long micros(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000;
+    }
+
+    private static String basic(String username, String password) {
+        return "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+
+    record Response(int statusCode, String body, long latencyMicros, Exception failure) {
+        boolean isSuccess() {
+            return failure == null && statusCode >= 200 && statusCode < 300;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.neon.releasetracker.loadtest;
+
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Route table read from the gateway's application.yml, used to attribute each request to the
+ * route id that serves it. Only the Path and Method predicates are evaluated; routes are tried
+ * in declaration order like the gateway does.
+ */
+public class GatewayRoutes {
+    static final String UNROUTED = "unrouted";
+    private final List<Route> routes;
+
+    GatewayRoutes(List<Route> routes) {
+        this.routes = List.copyOf(routes);
+    }
+
+    public static GatewayRoutes load(Path applicationYml) throws IOException {
+        try (Reader reader = Files.newBufferedReader(applicationYml)) {
+            return parse(reader);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static GatewayRoutes parse(Reader reader) {
+        Map<String, Object> yaml = new Yaml().load(reader);
+        var spring = (Map<String, Object>) yaml.get("spring");
+        var cloud = (Map<String, Object>) spring.get("cloud");
+        var gateway = (Map<String, Object>) cloud.get("gateway");
+        var routes = new ArrayList<Route>();
+        for(var route : (List<Map<String, Object>>) gateway.get("routes")) {
+            Pattern path = null;
+            String method = null;
+            for(var predicate : (List<String>) route.get("predicates")) {
+                if(predicate.startsWith("Path="))
+                    path = toPattern(predicate.substring("Path=".length()));
+                else if(predicate.startsWith("Method="))
+                    method = predicate.substring("Method=".length()).strip();
+            }
+            routes.add(new Route((String) route.get("id"), path, method));
+        }
+        return new GatewayRoutes(routes);
+    }
+
+    public List<String> routeIds() {
+        return routes.stream().map(Route::id).toList();
+    }
+
+    public String match(String method, String path) {
+        var pathOnly = path.contains("?") ? path.substring(0, path.indexOf('?')) : path;
+        for(var route : routes) {
+            if((route.method() == null || route.method().equalsIgnoreCase(method))
+                    && (route.path() == null || route.path().matcher(pathOnly).matches()))
+                return route.id();
+        }
+        return UNROUTED;
+    }
+
+    private static Pattern toPattern(String pathPattern) {
+        var regex = new StringBuilder();
+        for(var segment : pathPattern.strip().split("/")) {
+            if(segment.isEmpty())
+                continue;
+            regex.append('/');
+            if(segment.equals("**"))
+                regex.append(".*");
+            else if(segment.startsWith("{") && segment.endsWith("}"))
+                regex.append("[^/]+");
+            else
+                regex.append(Pattern.quote(segment));
+        }
+        return Pattern.compile(regex.isEmpty() ? "/" : regex.toString());
+    }
+
+    record Route(String id, Pattern path, String method) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.neon.releasetracker.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Ids of releases known to exist. Picking and removing are O(1) (removal swaps with the last
+ * element); calls are serialized, which is negligible next to an HTTP round trip.
+ */
+class IdPool {
+    private final List<Long> ids = new ArrayList<>();
+
+    synchronized void add(Long id) {
+        ids.add(id);
+    }
+
+    synchronized void addAll(List<Long> newIds) {
+        ids.addAll(newIds);
+    }
+
+    synchronized Long pick(SplittableRandom random) {
+        return ids.isEmpty() ? null : ids.get(random.nextInt(ids.size()));
+    }
+
+    synchronized Long take(SplittableRandom random) {
+        if(ids.isEmpty())
+            return null;
+        int index = random.nextInt(ids.size());
+        var last = ids.removeLast();
+        if(index == ids.size())
+            return last;
+        return ids.set(index, last);
+    }
+
+    synchronized int size() {
+        return ids.size();
+    }
+}
@@ -0,0 +1,83 @@
+package com.neon.releasetracker.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Load-test settings, read from --key=value arguments. Every setting has a default, so a
+ * bare run seeds 1000 releases and drives 32 concurrent clients for 10s warmup + 60s,
+ * authenticating every request with Basic credentials (auth=token uses bearer tokens).
+ */
+public record LoadTestConfig(
+        int releases,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        Map<Operation, Integer> mix,
+        long seed,
+        Path appJar,
+        Path gatewayJar,
+        Path gatewayConfig,
+        Path workDir,
+        Path report,
+        boolean tokenAuth) {
+
+    private static final String DEFAULT_MIX = "list=40,get=30,create=10,update=15,delete=5";
+
+    public static LoadTestConfig fromArgs(String... args) {
+        var options = new LinkedHashMap<String, String>();
+        for(var arg : args) {
+            if(!arg.startsWith("--") || !arg.contains("="))
+                throw new IllegalArgumentException("Expected --key=value but got:" + arg);
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+
+        var config = new LoadTestConfig(
+                Integer.parseInt(options.getOrDefault("releases", "1000")),
+                Integer.parseInt(options.getOrDefault("concurrency", "32")),
+                parseDuration(options.getOrDefault("warmup", "10s")),
+                parseDuration(options.getOrDefault("duration", "60s")),
+                parseMix(options.getOrDefault("mix", DEFAULT_MIX)),
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                Path.of(options.getOrDefault("app-jar", "../release-tracker/target/release-tracker-0.0.1-SNAPSHOT.jar")),
+                Path.of(options.getOrDefault("gateway-jar", "../release-tracker-gateway/target/release-tracker-gateway-0.0.1-SNAPSHOT.jar")),
+                Path.of(options.getOrDefault("gateway-config", "../release-tracker-gateway/src/main/resources/application.yml")),
+                Path.of(options.getOrDefault("work-dir", "target/load-test")),
+                Path.of(options.getOrDefault("report", "target/load-test/report.json")),
+                parseAuth(options.getOrDefault("auth", "basic")));
+        options.keySet().removeAll(Set.of("releases", "concurrency", "warmup", "duration", "mix", "seed",
+                "app-jar", "gateway-jar", "gateway-config", "work-dir", "report", "auth"));
+        if(!options.isEmpty())
+            throw new IllegalArgumentException("Unknown options:" + options.keySet());
+        return config;
+    }
+
+    static Duration parseDuration(String value) {
+        var amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            default -> throw new IllegalArgumentException("Duration must end with s or m:" + value);
+        };
+    }
+
+    static boolean parseAuth(String value) {
+        return switch (value) {
+            case "basic" -> false;
+            case "token" -> true;
+            default -> throw new IllegalArgumentException("Auth must be basic or token:" + value);
+        };
+    }
+
+    static Map<Operation, Integer> parseMix(String value) {
+        var mix = new LinkedHashMap<Operation, Integer>();
+        for(var entry : value.split(",")) {
+            var parts = entry.split("=");
+            mix.put(Operation.valueOf(parts[0].strip().toUpperCase()), Integer.parseInt(parts[1].strip()));
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,34 @@
+package com.neon.releasetracker.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Starts embedded PostgreSQL, release-tracker and the gateway, seeds releases, runs the mixed
+ * workload through the gateway and reports per-route latency, throughput and error rates.
+ *
+ * mvn -q compile exec:java -Dexec.args="--releases=5000 --concurrency=64 --duration=2m"
+ */
+public class LoadTestMain {
+    private static final Logger logger = LoggerFactory.getLogger((LoadTestMain.class));
+
+    public static void main(String[] args) throws Exception {
+        var config = LoadTestConfig.fromArgs(args);
+        var routes = GatewayRoutes.load(config.gatewayConfig());
+
+        try (var stack = new LocalStack()) {
+            stack.start(config);
+            var client = new GatewayClient(LocalStack.GATEWAY_URL);
+            if(config.tokenAuth())
+                client.useTokens();
+            var workload = new Workload(config, client, routes);
+            workload.seed();
+            var measuredSeconds = workload.run();
+
+            var report = LoadTestReport.of(config, routes, workload.stats(), measuredSeconds);
+            report.print(System.out);
+            report.write(config.report());
+            logger.info("Report written to {}", config.report().toAbsolutePath());
+        }
+    }
+}
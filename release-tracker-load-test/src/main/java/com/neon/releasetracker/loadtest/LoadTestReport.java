@@ -0,0 +1,92 @@
+package com.neon.releasetracker.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-route results of the measured period, in the gateway's route order. Latencies are in
+ * milliseconds; throughput is successful and failed requests per second.
+ */
+public record LoadTestReport(
+        double measuredSeconds,
+        int concurrency,
+        int seededReleases,
+        Map<String, Integer> mix,
+        List<RouteResult> routes) {
+
+    static LoadTestReport of(LoadTestConfig config, GatewayRoutes gatewayRoutes, Map<String, RouteStats> stats, double measuredSeconds) {
+        var routeIds = new ArrayList<>(gatewayRoutes.routeIds());
+        if(stats.containsKey(GatewayRoutes.UNROUTED))
+            routeIds.add(GatewayRoutes.UNROUTED);
+
+        var routes = new ArrayList<RouteResult>();
+        for(var routeId : routeIds) {
+            var routeStats = stats.get(routeId);
+            if(routeStats != null && routeStats.requests() > 0)
+                routes.add(RouteResult.of(routeId, routeStats, measuredSeconds));
+        }
+        var mix = new LinkedHashMap<String, Integer>();
+        config.mix().forEach((operation, weight) -> mix.put(operation.name().toLowerCase(), weight));
+        return new LoadTestReport(measuredSeconds, config.concurrency(), config.releases(), mix, routes);
+    }
+
+    void print(PrintStream out) {
+        out.printf("%n%-24s %9s %8s %9s %9s %9s %9s %9s %9s%n",
+                "route", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for(var route : routes) {
+            out.printf("%-24s %9d %7.2f%% %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    route.routeId(), route.requests(), route.errorRate() * 100, route.throughput(),
+                    route.p50(), route.p90(), route.p99(), route.p999(), route.max());
+        }
+        out.printf("measured %.1fs with %d clients%n", measuredSeconds, concurrency);
+    }
+
+    void write(Path path) throws IOException {
+        if(path.getParent() != null)
+            Files.createDirectories(path.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), this);
+    }
+
+    public record RouteResult(
+            String routeId,
+            long requests,
+            long errors,
+            double errorRate,
+            double throughput,
+            double p50,
+            double p90,
+            double p99,
+            double p999,
+            double max,
+            Map<String, Long> outcomes) {
+
+        static RouteResult of(String routeId, RouteStats stats, double measuredSeconds) {
+            var latency = stats.latency();
+            return new RouteResult(
+                    routeId,
+                    stats.requests(),
+                    stats.errors(),
+                    (double) stats.errors() / stats.requests(),
+                    stats.requests() / measuredSeconds,
+                    millis(latency.getValueAtPercentile(50)),
+                    millis(latency.getValueAtPercentile(90)),
+                    millis(latency.getValueAtPercentile(99)),
+                    millis(latency.getValueAtPercentile(99.9)),
+                    millis(latency.getMaxValue()),
+                    stats.outcomes());
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.neon.releasetracker.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Embedded PostgreSQL plus the release-tracker and gateway jars, started as child processes
+ * on their default ports (the gateway routes to localhost:8080). Process output goes to
+ * app.log and gateway.log in the work directory.
+ */
+public class LocalStack implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger((LocalStack.class));
+    static final String GATEWAY_URL = "http://localhost:8081";
+    private static final String APP_HEALTH_URL = "http://localhost:8082/actuator/health";
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private final List<Process> processes = new ArrayList<>();
+    private EmbeddedPostgres postgres;
+
+    public void start(LoadTestConfig config) throws IOException, SQLException, InterruptedException {
+        requireFile(config.appJar());
+        requireFile(config.gatewayJar());
+        Files.createDirectories(config.workDir());
+
+        int port = freePort();
+        postgres = EmbeddedPostgres.builder().setPort(port).start();
+        try (var connection = postgres.getPostgresDatabase().getConnection();
+             var statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE release_tracker");
+        }
+        logger.info("Embedded PostgreSQL listening on port {}", port);
+
+        launch(config, "app", config.appJar(),
+                "--spring.datasource.url=jdbc:postgresql://localhost:" + port + "/release_tracker?reWriteBatchedInserts=true",
+                "--spring.jpa.show-sql=false",
+                "--logging.applogs.enable=false");
+        awaitHealthy(APP_HEALTH_URL);
+        launch(config, "gateway", config.gatewayJar());
+        awaitHealthy(GATEWAY_URL + "/releases/welcome");
+    }
+
+    private void launch(LoadTestConfig config, String name, Path jar, String... args) throws IOException {
+        var command = new ArrayList<String>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.add("-jar");
+        command.add(jar.toAbsolutePath().toString());
+        command.addAll(List.of(args));
+
+        var process = new ProcessBuilder(command)
+                .directory(config.workDir().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(config.workDir().resolve(name + ".log").toFile())
+                .start();
+        processes.add(process);
+        logger.info("Started {} (pid {})", name, process.pid());
+    }
+
+    private void awaitHealthy(String url) throws InterruptedException {
+        var client = HttpClient.newHttpClient();
+        var request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(2)).build();
+        var deadline = Instant.now().plus(STARTUP_TIMEOUT);
+        while (Instant.now().isBefore(deadline)) {
+            if(processes.stream().anyMatch(process -> !process.isAlive()))
+                throw new IllegalStateException("A child process exited during startup, see the logs in the work directory");
+            try {
+                if(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200)
+                    return;
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Timed out waiting for " + url);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for(var process : processes.reversed()) {
+            process.destroy();
+            try {
+                if(!process.waitFor(30, TimeUnit.SECONDS))
+                    process.destroyForcibly();
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+        if(postgres != null)
+            postgres.close();
+    }
+
+    private static void requireFile(Path path) {
+        if(!Files.isRegularFile(path))
+            throw new IllegalArgumentException("Missing " + path.toAbsolutePath() + ", build it with mvn package first");
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.neon.releasetracker.loadtest;
+
+public enum Operation {
+    LIST,
+    GET,
+    CREATE,
+    UPDATE,
+    DELETE
+}
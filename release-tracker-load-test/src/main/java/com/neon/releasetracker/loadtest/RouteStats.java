@@ -0,0 +1,54 @@
+package com.neon.releasetracker.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram (microseconds, 3 significant digits) and outcome counters for one route.
+ * Non-2xx responses and transport failures count as errors.
+ */
+public class RouteStats {
+    static final String TRANSPORT_ERROR = "transport-error";
+    private final Histogram latency = new ConcurrentHistogram(3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    void record(long latencyMicros, int statusCode) {
+        latency.recordValue(latencyMicros);
+        requests.increment();
+        if(statusCode < 200 || statusCode >= 300)
+            errors.increment();
+        outcomes.computeIfAbsent(String.valueOf(statusCode), code -> new LongAdder()).increment();
+    }
+
+    void recordFailure(long latencyMicros) {
+        latency.recordValue(latencyMicros);
+        requests.increment();
+        errors.increment();
+        outcomes.computeIfAbsent(TRANSPORT_ERROR, code -> new LongAdder()).increment();
+    }
+
+    long requests() {
+        return requests.sum();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    Histogram latency() {
+        return latency;
+    }
+
+    Map<String, Long> outcomes() {
+        var snapshot = new TreeMap<String, Long>();
+        outcomes.forEach((code, count) -> snapshot.put(code, count.sum()));
+        return snapshot;
+    }
+}
@@ -0,0 +1,175 @@
+package com.neon.releasetracker.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop mixed workload: every client picks an operation by weight, waits for the
+ * response and immediately sends the next request. Latencies are recorded per gateway
+ * route only after the warmup period.
+ */
+class Workload {
+    private static final Logger logger = LoggerFactory.getLogger((Workload.class));
+    private static final String[] STATUSES = {"CREATED", "IN_DEVELOPMENT", "ON_DEV", "QA_DONE_ON_DEV",
+            "ON_STAGING", "QA_DONE_ON_STAGING", "ON_PROD", "DONE"};
+    private static final int SEED_BATCH_SIZE = 1000;
+    private static final int RATE_LIMITED = 429;
+    private static final Duration RATE_LIMIT_BACKOFF = Duration.ofSeconds(1);
+    private final LoadTestConfig config;
+    private final GatewayClient client;
+    private final GatewayRoutes routes;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final IdPool ids = new IdPool();
+    private final Map<String, RouteStats> stats = new ConcurrentHashMap<>();
+    private final AtomicLong nameSequence = new AtomicLong();
+    private final String namePrefix = "load-" + Instant.now().toEpochMilli() + "-";
+    private final LocalDate releaseDate = LocalDate.now().plusYears(1);
+    private volatile boolean recording;
+
+    Workload(LoadTestConfig config, GatewayClient client, GatewayRoutes routes) {
+        this.config = config;
+        this.client = client;
+        this.routes = routes;
+    }
+
+    void seed() throws IOException, InterruptedException {
+        for(int created = 0; created < config.releases(); created += SEED_BATCH_SIZE) {
+            var batch = new ArrayList<String>();
+            for(int i = created; i < Math.min(created + SEED_BATCH_SIZE, config.releases()); i++)
+                batch.add(releaseBody(new SplittableRandom(config.seed() + i)));
+
+            var body = "[" + String.join(",", batch) + "]";
+            var response = client.send("POST", "/releases/batch", body);
+            while (response.statusCode() == RATE_LIMITED) {
+                Thread.sleep(RATE_LIMIT_BACKOFF.toMillis());
+                response = client.send("POST", "/releases/batch", body);
+            }
+            if(!response.isSuccess())
+                throw new IllegalStateException("Seeding failed with status " + response.statusCode() + ": " + response.body());
+            var seeded = new ArrayList<Long>();
+            for(JsonNode item : objectMapper.readTree(response.body()).get("items")) {
+                if(item.hasNonNull("id"))
+                    seeded.add(item.get("id").asLong());
+            }
+            ids.addAll(seeded);
+        }
+        logger.info("Seeded {} releases", ids.size());
+    }
+
+    /**
+     * Runs the warmup, then the measured period, and returns the measured duration in seconds.
+     */
+    double run() throws InterruptedException {
+        var weights = config.mix();
+        int totalWeight = weights.values().stream().mapToInt(Integer::intValue).sum();
+        long warmupEnd = System.nanoTime() + config.warmup().toNanos();
+        long end = warmupEnd + config.duration().toNanos();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for(int client = 0; client < config.concurrency(); client++) {
+                var random = new SplittableRandom(config.seed() * 31 + client);
+                executor.submit(() -> {
+                    while (System.nanoTime() < end)
+                        execute(pick(weights, totalWeight, random), random);
+                });
+            }
+
+            Thread.sleep(config.warmup().toMillis());
+            recording = true;
+            long measuredStart = System.nanoTime();
+            logger.info("Warmup finished, measuring for {}", config.duration());
+            Thread.sleep(Math.max(0, (end - System.nanoTime()) / 1_000_000));
+            recording = false;
+            return (System.nanoTime() - measuredStart) / 1e9;
+        }
+    }
+
+    Map<String, RouteStats> stats() {
+        return stats;
+    }
+
+    private void execute(Operation operation, SplittableRandom random) {
+        switch (operation) {
+            case LIST -> send("GET", listPath(random), null);
+            case GET -> {
+                var id = ids.pick(random);
+                if(id != null)
+                    send("GET", "/releases/" + id, null);
+            }
+            case CREATE -> {
+                var response = send("POST", "/releases", releaseBody(random));
+                if(response.isSuccess())
+                    ids.add(readId(response.body()));
+            }
+            case UPDATE -> {
+                var id = ids.pick(random);
+                if(id != null)
+                    send("PUT", "/releases/" + id, "{\"status\":\"" + STATUSES[random.nextInt(STATUSES.length)]
+                            + "\",\"description\":\"Updated by load test\"}");
+            }
+            case DELETE -> {
+                var id = ids.take(random);
+                if(id != null)
+                    send("DELETE", "/releases/" + id, null);
+            }
+        }
+    }
+
+    private GatewayClient.Response send(String method, String path, String body) {
+        var response = client.send(method, path, body);
+        if(recording) {
+            var routeStats = stats.computeIfAbsent(routes.match(method, path), route -> new RouteStats());
+            if(response.failure() != null)
+                routeStats.recordFailure(response.latencyMicros());
+            else
+                routeStats.record(response.latencyMicros(), response.statusCode());
+        }
+        return response;
+    }
+
+    private String listPath(SplittableRandom random) {
+        var path = new StringBuilder("/releases?page=").append(random.nextInt(5)).append("&size=5");
+        if(random.nextInt(2) == 0)
+            path.append("&status=").append(STATUSES[random.nextInt(STATUSES.length)]);
+        if(random.nextInt(5) == 0)
+            path.append("&name=load");
+        return path.toString();
+    }
+
+    private String releaseBody(SplittableRandom random) {
+        return "{\"name\":\"" + namePrefix + nameSequence.incrementAndGet()
+                + "\",\"description\":\"Load test release\",\"status\":\"" + STATUSES[random.nextInt(STATUSES.length)]
+                + "\",\"releaseDate\":\"" + releaseDate.plusDays(random.nextInt(365)) + "\"}";
+    }
+
+    private Long readId(String body) {
+        try {
+            return objectMapper.readTree(body).get("id").asLong();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unexpected response body:" + body, e);
+        }
+    }
+
+    private static Operation pick(Map<Operation, Integer> weights, int totalWeight, SplittableRandom random) {
+        int value = random.nextInt(totalWeight);
+        for(var entry : weights.entrySet()) {
+            value -= entry.getValue();
+            if(value < 0)
+                return entry.getKey();
+        }
+        throw new IllegalStateException("Empty operation mix");
+    }
+}
@@ -0,0 +1,40 @@
+package com.neon.releasetracker.loadtest;
+
+import org.junit.jupiter.api.Test;
+import java.io.StringReader;
+import java.nio.file.Path;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class GatewayRoutesTest {
+
+    @Test
+    void testMatchesGatewayRoutesInDeclarationOrder() throws Exception {
+        var routes = GatewayRoutes.load(Path.of("../release-tracker-gateway/src/main/resources/application.yml"));
+
+        assertEquals("list-releases", routes.match("GET", "/releases?status=DONE&page=1"));
+        assertEquals("search-releases", routes.match("GET", "/releases/search?q=pay"));
+        assertEquals("get-release", routes.match("GET", "/releases/42"));
+        assertEquals("create-releases-batch", routes.match("POST", "/releases/batch"));
+        assertEquals("update-release", routes.match("PUT", "/releases/42"));
+        assertEquals("delete-release", routes.match("DELETE", "/releases/42"));
+    }
+
+    @Test
+    void testUnmatchedRequestIsUnrouted() {
+        var routes = GatewayRoutes.parse(new StringReader("""
+                spring:
+                  cloud:
+                    gateway:
+                      routes:
+                        - id: get-release
+                          uri: http://localhost:8080
+                          predicates:
+                            - Path=/releases/{id}
+                            - Method=GET
+                """));
+
+        assertEquals("get-release", routes.match("GET", "/releases/7"));
+        assertEquals(GatewayRoutes.UNROUTED, routes.match("GET", "/releases/7/history"));
+        assertEquals(GatewayRoutes.UNROUTED, routes.match("POST", "/releases/7"));
+    }
+}
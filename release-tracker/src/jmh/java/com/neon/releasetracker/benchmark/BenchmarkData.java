@@ -0,0 +1,54 @@
+package com.neon.releasetracker.benchmark;
+
+import com.neon.releasetracker.dto.ReleaseRequestDTO;
+import com.neon.releasetracker.dto.ReleaseResponseDTO;
+import com.neon.releasetracker.entity.Release;
+import com.neon.releasetracker.enums.Status;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Fixed inputs shared by the benchmarks. Nothing depends on the clock or a random
+ * source, so every run measures the same data.
+ */
+final class BenchmarkData {
+    static final LocalDate RELEASE_DATE = LocalDate.of(2030, 1, 15);
+    static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 10, 9, 30);
+    static final LocalDateTime UPDATED_AT = LocalDateTime.of(2025, 1, 12, 14, 5);
+
+    private BenchmarkData() {
+    }
+
+    static Release release(long id) {
+        var statuses = Status.values();
+        return new Release(id,
+                "Release " + id,
+                "Payments gateway rework, part " + id + " of the checkout migration",
+                statuses[(int) (id % statuses.length)],
+                RELEASE_DATE.plusDays(id % 30),
+                CREATED_AT,
+                UPDATED_AT);
+    }
+
+    static ReleaseRequestDTO request(long id) {
+        var release = release(id);
+        return new ReleaseRequestDTO(release.getName(), release.getDescription(), release.getStatus(), release.getReleaseDate());
+    }
+
+    static List<ReleaseResponseDTO> page(int size) {
+        return IntStream.rangeClosed(1, size)
+                .mapToObj(id -> release(id))
+                .map(release -> new ReleaseResponseDTO(
+                        release.getId(),
+                        release.getName(),
+                        release.getDescription(),
+                        release.getStatus(),
+                        release.getReleaseDate(),
+                        release.getCreatedAt(),
+                        release.getLastUpdatedAt()))
+                .toList();
+    }
+}
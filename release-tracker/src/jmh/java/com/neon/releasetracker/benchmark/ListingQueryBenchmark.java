@@ -0,0 +1,118 @@
+package com.neon.releasetracker.benchmark;
+
+import com.neon.releasetracker.dto.ReleaseResponseDTO;
+import com.neon.releasetracker.entity.Release;
+import com.neon.releasetracker.repository.ReleaseSpecification;
+import com.neon.releasetracker.service.ReleaseService;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Reads one GET /releases page the way findSlice does, against an in-memory H2 database,
+ * once by hydrating Release entities and mapping them to ReleaseResponseDTO and once by
+ * selecting straight into the DTO. Each read runs in a read-only session with flushing
+ * disabled, as a readOnly transaction does. Run with -prof gc to compare allocation per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ListingQueryBenchmark {
+    private static final int ROWS = 1000;
+    private static final Sort SORT = Sort.by(Sort.Direction.DESC, "releaseDate");
+    @Param({"5", "50"})
+    private int pageSize;
+    private SessionFactory sessionFactory;
+    private ReleaseService releaseService;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Release.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:listing;DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.jdbc.batch_size", "50")
+                .buildSessionFactory();
+        sessionFactory.inTransaction(session -> {
+            for(long id = 1; id <= ROWS; id++) {
+                var release = BenchmarkData.release(id);
+                release.setId(null);
+                session.persist(release);
+            }
+            session.createNativeMutationQuery("CREATE INDEX idx_release_date_id ON release (release_date DESC, id DESC)")
+                    .executeUpdate();
+        });
+        releaseService = new ReleaseService(null, null, null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public List<ReleaseResponseDTO> entityPage() {
+        return readPage(session -> {
+            var criteriaBuilder = session.getCriteriaBuilder();
+            var query = criteriaBuilder.createQuery(Release.class);
+            var root = query.from(Release.class);
+            return page(session, filter(criteriaBuilder, query, root)).stream()
+                    .map(releaseService::mapToResponseDTO)
+                    .toList();
+        });
+    }
+
+    @Benchmark
+    public List<ReleaseResponseDTO> projectionPage() {
+        return readPage(session -> {
+            var criteriaBuilder = session.getCriteriaBuilder();
+            var query = criteriaBuilder.createQuery(ReleaseResponseDTO.class);
+            var root = query.from(Release.class);
+            query.select(criteriaBuilder.construct(ReleaseResponseDTO.class,
+                    root.get("id"), root.get("name"), root.get("description"), root.get("status"),
+                    root.get("releaseDate"), root.get("createdAt"), root.get("lastUpdatedAt")));
+            return page(session, filter(criteriaBuilder, query, root));
+        });
+    }
+
+    private List<ReleaseResponseDTO> readPage(Function<Session, List<ReleaseResponseDTO>> read) {
+        try (var session = sessionFactory.openSession()) {
+            session.setDefaultReadOnly(true);
+            session.setHibernateFlushMode(FlushMode.MANUAL);
+            var transaction = session.beginTransaction();
+            var page = read.apply(session);
+            transaction.commit();
+            return page;
+        }
+    }
+
+    /**
+     * The unfiltered default listing: no predicates, newest release date first.
+     */
+    private static <T> CriteriaQuery<T> filter(CriteriaBuilder criteriaBuilder, CriteriaQuery<T> query, Root<Release> root) {
+        var predicate = ReleaseSpecification.filterByParam(null, null, null, null).toPredicate(root, query, criteriaBuilder);
+        if(predicate != null)
+            query.where(predicate);
+        return query.orderBy(QueryUtils.toOrders(SORT, root, criteriaBuilder));
+    }
+
+    private <T> List<T> page(Session session, CriteriaQuery<T> query) {
+        return session.createQuery(query)
+                .setMaxResults(pageSize + 1)
+                .getResultList();
+    }
+}
@@ -0,0 +1,102 @@
+package com.neon.releasetracker.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.neon.releasetracker.dto.ReleaseRequestDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost on the request thread of the "Req to create release" log line, written by 4 threads
+ * to a file through the pattern used in logback-spring.xml. SYNC formats and writes on the
+ * calling thread like the former configuration; ASYNC only enqueues to an AsyncAppender
+ * with the default queue of 8192 and neverBlock, so events dropped by a full queue are
+ * included. The disabled benchmarks log below the logger's level and show what building
+ * the message by concatenation costs even when nothing is written.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Threads(4)
+public class LoggingBenchmark {
+    @Param({"SYNC", "ASYNC"})
+    private String appender;
+    private LoggerContext context;
+    private Logger logger;
+    private Path logFile;
+    private final ReleaseRequestDTO request = BenchmarkData.request(1);
+
+    @Setup
+    public void setUp() throws IOException {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        logFile = Files.createTempFile("logging-benchmark", ".log");
+
+        var encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} [%level] %replace([%X{requestId}] ){'\\[\\] ', ''}%logger{36} - %msg%n");
+        encoder.start();
+        var file = new FileAppender<ILoggingEvent>();
+        file.setContext(context);
+        file.setFile(logFile.toString());
+        file.setEncoder(encoder);
+        file.start();
+
+        Appender<ILoggingEvent> target = file;
+        if(appender.equals("ASYNC")) {
+            var async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.addAppender(file);
+            async.start();
+            target = async;
+        }
+
+        logger = context.getLogger("com.neon.releasetracker.controller.ReleaseController");
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(target);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.stop();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public void parameterized() {
+        logger.info("Req to create release, name:{} description:{} status:{} release date:{} on conflict:{}",
+                request.name(), request.description(), request.status(), request.releaseDate(), "FAIL");
+    }
+
+    @Benchmark
+    public void disabledConcatenation() {
+        logger.debug("Req to create release, name:" + request.name()
+                + " description:" + request.description()
+                + " status:" + request.status()
+                + " release date:" + request.releaseDate()
+                + " on conflict:" + "FAIL");
+    }
+
+    @Benchmark
+    public void disabledParameterized() {
+        logger.debug("Req to create release, name:{} description:{} status:{} release date:{} on conflict:{}",
+                request.name(), request.description(), request.status(), request.releaseDate(), "FAIL");
+    }
+}
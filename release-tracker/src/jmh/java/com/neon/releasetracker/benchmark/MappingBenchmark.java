@@ -0,0 +1,38 @@
+package com.neon.releasetracker.benchmark;
+
+import com.neon.releasetracker.dto.ReleaseRequestDTO;
+import com.neon.releasetracker.dto.ReleaseResponseDTO;
+import com.neon.releasetracker.entity.Release;
+import com.neon.releasetracker.service.ReleaseService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class MappingBenchmark {
+    private ReleaseService releaseService;
+    private Release release;
+    private ReleaseRequestDTO request;
+
+    @Setup
+    public void setUp() {
+        releaseService = new ReleaseService(null, null, null);
+        release = BenchmarkData.release(42);
+        request = BenchmarkData.request(42);
+    }
+
+    @Benchmark
+    public ReleaseResponseDTO mapToResponseDTO() {
+        return releaseService.mapToResponseDTO(release);
+    }
+
+    @Benchmark
+    public Release mapToEntity() {
+        return releaseService.mapToEntity(request);
+    }
+}
@@ -0,0 +1,65 @@
+package com.neon.releasetracker.benchmark;
+
+import com.neon.releasetracker.entity.Release;
+import com.neon.releasetracker.enums.Status;
+import com.neon.releasetracker.repository.ReleaseSpecification;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the criteria query and predicates for GET /releases the way findSlice does, against a
+ * Hibernate metamodel bootstrapped on an in-memory H2 database (no query is executed).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class SpecificationBenchmark {
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder criteriaBuilder;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Release.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:benchmark")
+                .setProperty("hibernate.hbm2ddl.auto", "none")
+                .buildSessionFactory();
+        criteriaBuilder = sessionFactory.getCriteriaBuilder();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Predicate unfiltered() {
+        return toPredicate(null, null, null, null);
+    }
+
+    @Benchmark
+    public Predicate statusOnly() {
+        return toPredicate(Status.ON_STAGING, null, null, null);
+    }
+
+    @Benchmark
+    public Predicate allFilters() {
+        return toPredicate(Status.ON_STAGING, "Release", "checkout", BenchmarkData.RELEASE_DATE);
+    }
+
+    private Predicate toPredicate(Status status, String name, String description, LocalDate releaseDate) {
+        var specification = ReleaseSpecification.filterByParam(status, name, description, releaseDate);
+        var query = criteriaBuilder.createQuery(Release.class);
+        var root = query.from(Release.class);
+        return specification.toPredicate(root, query, criteriaBuilder);
+    }
+}
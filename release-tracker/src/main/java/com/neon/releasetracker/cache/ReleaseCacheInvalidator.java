@@ -0,0 +1,98 @@
+package com.neon.releasetracker.cache;
+
+import com.neon.releasetracker.config.CacheConfig;
+import com.neon.releasetracker.entity.Release;
+import com.neon.releasetracker.event.ReleaseChange;
+import com.neon.releasetracker.event.ReleaseChangedEvent;
+import com.neon.releasetracker.event.ReleasesImportedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Evicts only the cached entries a committed write can affect. A listing page is
+ * evicted when its filter matches the row before or after the change; pages whose
+ * filter matches neither state cannot have gained, lost or reordered a row.
+ */
+@Component
+public class ReleaseCacheInvalidator {
+    private static final Logger logger = LoggerFactory.getLogger((ReleaseCacheInvalidator.class));
+    @Value("${logging.applogs.enable}")
+    private boolean enableAppLogs;
+    private final CacheManager cacheManager;
+
+    public ReleaseCacheInvalidator(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReleaseChanged(ReleaseChangedEvent event) {
+        evictReleases(event.changes());
+        evictQueries(CacheConfig.RELEASES_CACHE, event.changes());
+        evictQueries(CacheConfig.RELEASE_COUNTS_CACHE, event.changes());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReleasesImported(ReleasesImportedEvent event) {
+        var releaseCache = cacheManager.getCache(CacheConfig.RELEASE_CACHE);
+        if(releaseCache != null)
+            event.releaseIds().forEach(releaseCache::evict);
+        clear(CacheConfig.RELEASES_CACHE);
+        clear(CacheConfig.RELEASE_COUNTS_CACHE);
+    }
+
+    private void clear(String cacheName) {
+        var cache = cacheManager.getCache(cacheName);
+        if(cache != null)
+            cache.clear();
+    }
+
+    private void evictReleases(List<ReleaseChange> changes) {
+        var cache = cacheManager.getCache(CacheConfig.RELEASE_CACHE);
+        if(cache == null)
+            return;
+        changes.stream()
+                .map(ReleaseChange::releaseId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(cache::evict);
+    }
+
+    private void evictQueries(String cacheName, List<ReleaseChange> changes) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if(cache == null)
+            return;
+        if(!(cache instanceof CaffeineCache caffeineCache)) {
+            cache.clear();
+            return;
+        }
+
+        var states = changes.stream()
+                .flatMap(change -> Stream.of(change.before(), change.after()))
+                .filter(Objects::nonNull)
+                .toList();
+        var keys = caffeineCache.getNativeCache().asMap().keySet();
+        int before = keys.size();
+        keys.removeIf(key -> !(key instanceof ReleaseQueryKey queryKey) || matchesAny(queryKey, states));
+
+        if(enableAppLogs)
+            logger.info("Evicted {} of {} entries from {}", before - keys.size(), before, cacheName);
+    }
+
+    private static boolean matchesAny(ReleaseQueryKey key, List<Release> states) {
+        for(var state : states) {
+            if(key.matches(state))
+                return true;
+        }
+        return false;
+    }
+}
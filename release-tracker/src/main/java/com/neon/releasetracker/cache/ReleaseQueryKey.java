@@ -0,0 +1,89 @@
+package com.neon.releasetracker.cache;
+
+import com.neon.releasetracker.dto.ReleaseCursor;
+import com.neon.releasetracker.entity.Release;
+import com.neon.releasetracker.enums.Status;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+
+/**
+ * Key of a cached listing page. It keeps the filter predicates next to the page
+ * coordinates so that a write can tell which cached pages may contain the changed row.
+ * Keyset pages use page -1 and carry the cursor they were fetched after; total counts
+ * are keyed by the filter alone.
+ */
+public record ReleaseQueryKey(
+        Status status,
+        String name,
+        String description,
+        LocalDate releaseDate,
+        int page,
+        int size,
+        Sort sort,
+        ReleaseCursor after) {
+
+    public static final String CACHE_KEY =
+            "T(com.neon.releasetracker.cache.ReleaseQueryKey).of(#status, #name, #description, #releaseDate, #pageable)";
+
+    public static final String KEYSET_CACHE_KEY =
+            "T(com.neon.releasetracker.cache.ReleaseQueryKey).ofKeyset(#status, #name, #description, #releaseDate, #cursor, #size)";
+    public static final String COUNT_CACHE_KEY =
+            "T(com.neon.releasetracker.cache.ReleaseQueryKey).ofFilter(#status, #name, #description, #releaseDate)";
+    private static final int KEYSET_PAGE = -1;
+
+    public static ReleaseQueryKey of(Status status,
+                                     String name,
+                                     String description,
+                                     LocalDate releaseDate,
+                                     Pageable pageable) {
+        return new ReleaseQueryKey(status, name, description, releaseDate,
+                pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort(), null);
+    }
+
+    public static ReleaseQueryKey ofKeyset(Status status,
+                                           String name,
+                                           String description,
+                                           LocalDate releaseDate,
+                                           ReleaseCursor cursor,
+                                           int size) {
+        return new ReleaseQueryKey(status, name, description, releaseDate,
+                KEYSET_PAGE, size, ReleaseCursor.KEYSET_SORT, cursor);
+    }
+
+    public static ReleaseQueryKey ofFilter(Status status,
+                                           String name,
+                                           String description,
+                                           LocalDate releaseDate) {
+        return new ReleaseQueryKey(status, name, description, releaseDate, 0, 0, Sort.unsorted(), null);
+    }
+
+    public boolean isUnfiltered() {
+        return status == null && name == null && description == null && releaseDate == null;
+    }
+
+    /**
+     * Whether the row would be selected by this key's filter. Mirrors
+     * ReleaseSpecification.filterByParam: exact status and release date, case-sensitive
+     * substring for name and description.
+     */
+    public boolean matches(Release release) {
+        if(release == null)
+            return false;
+        if(status != null && status != release.getStatus())
+            return false;
+        if(name != null && !likeMatches(release.getName(), name))
+            return false;
+        if(description != null && !likeMatches(release.getDescription(), description))
+            return false;
+        return releaseDate == null || releaseDate.equals(release.getReleaseDate());
+    }
+
+    private static boolean likeMatches(String value, String fragment) {
+        // LIKE treats % and _ as wildcards, so such fragments are assumed to match
+        if(fragment.indexOf('%') >= 0 || fragment.indexOf('_') >= 0 || fragment.indexOf('\\') >= 0)
+            return true;
+        return value != null && value.contains(fragment);
+    }
+}
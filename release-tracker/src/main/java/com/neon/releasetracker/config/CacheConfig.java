@@ -0,0 +1,69 @@
+package com.neon.releasetracker.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+
+@Configuration
+@EnableConfigurationProperties(ReleaseCacheProperties.class)
+public class CacheConfig {
+    public static final String RELEASE_CACHE = "release";
+    public static final String RELEASES_CACHE = "releases";
+    public static final String RELEASE_COUNTS_CACHE = "releaseCounts";
+
+    /**
+     * Caffeine evicts with W-TinyLFU, so frequently requested listing pages survive
+     * a burst of one-off filter combinations. Every cache records hit/miss/eviction
+     * statistics, which actuator publishes as cache.gets and cache.evictions.
+     */
+    @Bean
+    public CacheManager cacheManager(ReleaseCacheProperties properties) {
+        var cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(properties.defaultMaximumSize())
+                .expireAfterWrite(properties.defaultExpireAfterWrite())
+                .recordStats());
+
+        properties.caches().forEach((name, spec) ->
+                cacheManager.registerCustomCache(name, buildCache(spec, properties)));
+
+        return cacheManager;
+    }
+
+    private static com.github.benmanes.caffeine.cache.Cache<Object, Object> buildCache(
+            ReleaseCacheProperties.CacheSpec spec,
+            ReleaseCacheProperties properties) {
+        var builder = Caffeine.newBuilder().recordStats();
+
+        if(spec.maximumWeight() != null)
+            builder.maximumWeight(spec.maximumWeight()).weigher(rowWeigher());
+        else
+            builder.maximumSize(spec.maximumSize() != null ? spec.maximumSize() : properties.defaultMaximumSize());
+
+        if(spec.expireAfterWrite() != null)
+            builder.expireAfterWrite(spec.expireAfterWrite());
+        if(spec.expireAfterAccess() != null)
+            builder.expireAfterAccess(spec.expireAfterAccess());
+        if(spec.expireAfterWrite() == null && spec.expireAfterAccess() == null)
+            builder.expireAfterWrite(properties.defaultExpireAfterWrite());
+
+        return builder.build();
+    }
+
+    private static Weigher<Object, Object> rowWeigher() {
+        return (key, value) -> {
+            if(value instanceof Slice<?> slice)
+                return Math.max(1, slice.getNumberOfElements());
+            if(value instanceof Window<?> window)
+                return Math.max(1, window.size());
+            return 1;
+        };
+    }
+}
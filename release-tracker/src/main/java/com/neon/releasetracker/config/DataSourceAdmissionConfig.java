@@ -0,0 +1,73 @@
+package com.neon.releasetracker.config;
+
+import com.neon.releasetracker.datasource.AdmissionControlledDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@Configuration
+@EnableConfigurationProperties(DataSourceAdmissionProperties.class)
+@ConditionalOnProperty(prefix = "release-tracker.datasource.admission", name = "enabled", havingValue = "true")
+public class DataSourceAdmissionConfig {
+
+    /**
+     * Wraps the pooled DataSource once it is initialized. AdmissionControlledDataSource is a
+     * DelegatingDataSource, so actuator still unwraps it to report Hikari pool metrics.
+     */
+    @Bean
+    public static BeanPostProcessor admissionControlledDataSourcePostProcessor(
+            ObjectProvider<DataSourceAdmissionProperties> propertiesProvider) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if(!(bean instanceof DataSource dataSource) || bean instanceof AdmissionControlledDataSource)
+                    return bean;
+
+                var properties = propertiesProvider.getObject();
+                int maxConcurrent = properties.maxConcurrent() != null ? properties.maxConcurrent() : primaryPoolSize(dataSource);
+                return new AdmissionControlledDataSource(dataSource, maxConcurrent, properties.maxWaiting(),
+                        properties.acquireTimeout(), properties.retryAfter());
+            }
+        };
+    }
+
+    /**
+     * Size of the pool writes go to; with read replicas configured the DataSource is a
+     * proxy and the primary Hikari pool sits behind it.
+     */
+    private static int primaryPoolSize(DataSource dataSource) {
+        try {
+            if(dataSource.isWrapperFor(HikariDataSource.class))
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not unwrap the connection pool", e);
+        }
+        return 10;
+    }
+
+    @Bean
+    public MeterBinder admissionControlledDataSourceMetrics(DataSource dataSource) {
+        return registry -> {
+            try {
+                var admission = dataSource.unwrap(AdmissionControlledDataSource.class);
+                Gauge.builder("jdbc.connections.admission.waiting", admission, AdmissionControlledDataSource::getWaiting)
+                        .description("Requests waiting to be admitted to the connection pool")
+                        .register(registry);
+                Gauge.builder("jdbc.connections.admission.available", admission, AdmissionControlledDataSource::getAvailablePermits)
+                        .description("Connections that can be handed out without waiting")
+                        .register(registry);
+            } catch (SQLException e) {
+                throw new IllegalStateException("DataSource is not admission controlled", e);
+            }
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package com.neon.releasetracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Connection admission limits. maxConcurrent defaults to the Hikari pool size.
+ */
+@ConfigurationProperties(prefix = "release-tracker.datasource.admission")
+public record DataSourceAdmissionProperties(
+        @DefaultValue("false") boolean enabled,
+        Integer maxConcurrent,
+        @DefaultValue("100") int maxWaiting,
+        @DefaultValue("2s") Duration acquireTimeout,
+        @DefaultValue("1s") Duration retryAfter) {
+}
@@ -0,0 +1,29 @@
+package com.neon.releasetracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "release-tracker.cache")
+public record ReleaseCacheProperties(
+        @DefaultValue("1000") long defaultMaximumSize,
+        @DefaultValue("10m") Duration defaultExpireAfterWrite,
+        Map<String, CacheSpec> caches) {
+
+    public ReleaseCacheProperties {
+        caches = caches == null ? Map.of() : Map.copyOf(caches);
+    }
+
+    /**
+     * Bounds for a single named cache. Either maximumSize (entries) or maximumWeight
+     * (rows held by cached pages) should be set, not both.
+     */
+    public record CacheSpec(
+            Long maximumSize,
+            Long maximumWeight,
+            Duration expireAfterWrite,
+            Duration expireAfterAccess) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.neon.releasetracker.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neon.releasetracker.feed.ReleaseChangeFeed;
+import com.neon.releasetracker.feed.ReleaseChangeListener;
+import com.neon.releasetracker.service.ReleaseService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ReleaseChangeFeedProperties.class)
+public class ReleaseChangeFeedConfig {
+
+    @Bean
+    public ReleaseChangeFeed releaseChangeFeed(ReleaseChangeFeedProperties properties,
+                                               ObjectMapper objectMapper,
+                                               MeterRegistry meterRegistry) {
+        return new ReleaseChangeFeed(properties, objectMapper, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "release-tracker.change-feed", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public ReleaseChangeListener releaseChangeListener(DataSourceProperties dataSourceProperties,
+                                                       ReleaseChangeFeed releaseChangeFeed,
+                                                       ObjectMapper objectMapper,
+                                                       ReleaseService releaseService,
+                                                       ReleaseChangeFeedProperties properties) {
+        return new ReleaseChangeListener(dataSourceProperties, releaseChangeFeed, objectMapper, releaseService,
+                properties.reconnectDelay());
+    }
+}
@@ -0,0 +1,23 @@
+package com.neon.releasetracker.config;
+
+import com.neon.releasetracker.enums.SlowConsumerPolicy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the release change feed. The last replaySize events can be resumed from;
+ * each subscriber buffers up to subscriberBufferSize events before slowConsumerPolicy
+ * applies.
+ */
+@ConfigurationProperties(prefix = "release-tracker.change-feed")
+public record ReleaseChangeFeedProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1000") int replaySize,
+        @DefaultValue("256") int subscriberBufferSize,
+        @DefaultValue("DISCONNECT") SlowConsumerPolicy slowConsumerPolicy,
+        @DefaultValue("15s") Duration heartbeatInterval,
+        @DefaultValue("30m") Duration streamTimeout,
+        @DefaultValue("5s") Duration reconnectDelay) {
+}
@@ -0,0 +1,20 @@
+package com.neon.releasetracker.config;
+
+import com.neon.releasetracker.repository.ReleaseRepository;
+import com.neon.releasetracker.stats.ReleaseStatsTracker;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ReleaseStatsProperties.class)
+public class ReleaseStatsConfig {
+
+    @Bean
+    public ReleaseStatsTracker releaseStatsTracker(ReleaseRepository releaseRepository,
+                                                   ReleaseStatsProperties properties,
+                                                   MeterRegistry meterRegistry) {
+        return new ReleaseStatsTracker(releaseRepository, properties.reconcileInterval(), meterRegistry);
+    }
+}
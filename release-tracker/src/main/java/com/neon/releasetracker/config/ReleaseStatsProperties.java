@@ -0,0 +1,15 @@
+package com.neon.releasetracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * How often the in-memory release statistics are recounted from the database to correct
+ * any drift from the incremental updates.
+ */
+@ConfigurationProperties(prefix = "release-tracker.stats")
+public record ReleaseStatsProperties(
+        @DefaultValue("5m") Duration reconcileInterval) {
+}
@@ -0,0 +1,30 @@
+package com.neon.releasetracker.config;
+
+import com.neon.releasetracker.history.ReleaseStatusHistoryRecorder;
+import com.neon.releasetracker.repository.ReleaseStatusChangeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@EnableConfigurationProperties(ReleaseStatusHistoryProperties.class)
+@ConditionalOnProperty(prefix = "release-tracker.status-history", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ReleaseStatusHistoryConfig {
+
+    @Bean
+    public ReleaseStatusHistoryRecorder releaseStatusHistoryRecorder(ReleaseStatusChangeRepository repository,
+                                                                     PlatformTransactionManager transactionManager,
+                                                                     ReleaseStatusHistoryProperties properties,
+                                                                     MeterRegistry meterRegistry) {
+        // Writes made when the writer is not running happen in the committing request's
+        // after-commit callback, where joining its finished transaction would lose them
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return new ReleaseStatusHistoryRecorder(repository, transactionTemplate, properties, meterRegistry);
+    }
+}
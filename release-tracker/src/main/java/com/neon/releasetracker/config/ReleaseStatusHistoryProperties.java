@@ -0,0 +1,21 @@
+package com.neon.releasetracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Write-behind settings for the status history. A full queue holds back the committing
+ * request for up to enqueueTimeout before the transition is dropped.
+ */
+@ConfigurationProperties(prefix = "release-tracker.status-history")
+public record ReleaseStatusHistoryProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("200ms") Duration flushInterval,
+        @DefaultValue("50ms") Duration enqueueTimeout,
+        @DefaultValue("3") int writeAttempts,
+        @DefaultValue("10s") Duration shutdownTimeout) {
+}
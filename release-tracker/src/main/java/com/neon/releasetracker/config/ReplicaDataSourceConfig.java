@@ -0,0 +1,68 @@
+package com.neon.releasetracker.config;
+
+import com.neon.releasetracker.datasource.ReadWriteSplittingDataSource;
+import com.neon.releasetracker.datasource.ReplicaLagMonitor;
+import com.neon.releasetracker.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+
+/**
+ * Replaces the auto-configured DataSource with a read/write splitting one when replicas are
+ * configured. The primary pool is built from spring.datasource.* as before, so writes,
+ * schema initialization and Hikari metrics are unchanged; each replica gets its own pool.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+@ConditionalOnProperty(prefix = "release-tracker.datasource.replica", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    public ReadWriteSplittingDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                                   ReplicaDataSourceProperties replicaProperties,
+                                                   Environment environment,
+                                                   MeterRegistry meterRegistry) {
+        var primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        var replicas = new ArrayList<ReplicaRoutingDataSource.Replica>();
+        for(var endpoint : replicaProperties.endpoints()) {
+            var name = "replica-" + (replicas.size() + 1);
+            var pool = new HikariDataSource();
+            pool.setPoolName(name);
+            pool.setJdbcUrl(endpoint.url());
+            pool.setUsername(endpoint.username() != null ? endpoint.username() : dataSourceProperties.determineUsername());
+            pool.setPassword(endpoint.password() != null ? endpoint.password() : dataSourceProperties.determinePassword());
+            pool.setMaximumPoolSize(replicaProperties.maximumPoolSize());
+            pool.setReadOnly(true);
+            pool.setInitializationFailTimeout(-1);
+            pool.setConnectionTimeout(Math.max(250, replicaProperties.lagCheckInterval().toMillis()));
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new ReplicaRoutingDataSource.Replica(name, pool));
+        }
+
+        return new ReadWriteSplittingDataSource(primary,
+                new ReplicaRoutingDataSource(primary, replicas, replicaProperties.maxLag()));
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(DataSource dataSource,
+                                               ReplicaDataSourceProperties replicaProperties,
+                                               MeterRegistry meterRegistry) throws SQLException {
+        var splitting = dataSource.unwrap(ReadWriteSplittingDataSource.class);
+        return new ReplicaLagMonitor(splitting.getTargetDataSource(), splitting.getReplicaRouter(),
+                replicaProperties.lagCheckInterval(), meterRegistry);
+    }
+}
@@ -0,0 +1,23 @@
+package com.neon.releasetracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replicas for read-only transactions. Replicas without a username or password use
+ * the primary's (spring.datasource.username/password).
+ */
+@ConfigurationProperties(prefix = "release-tracker.datasource.replica")
+public record ReplicaDataSourceProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue List<Endpoint> endpoints,
+        @DefaultValue("10") int maximumPoolSize,
+        @DefaultValue("1s") Duration maxLag,
+        @DefaultValue("500ms") Duration lagCheckInterval) {
+
+    public record Endpoint(String url, String username, String password) {
+    }
+}
@@ -0,0 +1,112 @@
+package com.neon.releasetracker.controller;
+
+import com.neon.releasetracker.dto.ReleaseResponseDTO;
+import com.neon.releasetracker.exception.InvalidReleaseException;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Weak ETags derived from the fields of the returned releases plus any paging headers, so
+ * they are stable across instances and restarts and can be computed without serializing
+ * the body. A single release has a strong ETag, its version, which If-Match on PUT and
+ * DELETE is compared against.
+ */
+final class ETags {
+    private static final char FIELD_SEPARATOR = '\u001f';
+    private static final char RECORD_SEPARATOR = '\u001e';
+
+    private ETags() {
+    }
+
+    static String of(List<ReleaseResponseDTO> releases, String... headerValues) {
+        var content = new StringBuilder();
+        for(var release : releases) {
+            content.append(release.id()).append(FIELD_SEPARATOR)
+                    .append(release.name()).append(FIELD_SEPARATOR)
+                    .append(release.description()).append(FIELD_SEPARATOR)
+                    .append(release.status()).append(FIELD_SEPARATOR)
+                    .append(release.releaseDate()).append(FIELD_SEPARATOR)
+                    .append(release.createdAt()).append(FIELD_SEPARATOR)
+                    .append(release.lastUpdateAt()).append(RECORD_SEPARATOR);
+        }
+        for(var headerValue : headerValues)
+            content.append(headerValue).append(FIELD_SEPARATOR);
+
+        return "W/\"" + DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    static String ofVersion(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Versions an If-Match header accepts, or null when there is no header or it is "*". The
+     * header is a list of entity tags (RFC 9110 13.1.1) compared strongly against the
+     * version: weak tags and strong tags that hold no version are valid but can never match,
+     * so a list of only those yields no versions and the write fails its precondition.
+     * A value that is not an entity tag list is a malformed request.
+     */
+    static List<Long> expectedVersions(String ifMatch) {
+        if(ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals("*"))
+            return null;
+
+        var versions = new ArrayList<Long>();
+        int tags = 0;
+        int position = 0;
+        while(position < ifMatch.length()) {
+            char next = ifMatch.charAt(position);
+            if(next == ' ' || next == '\t' || next == ',') {
+                position++;
+                continue;
+            }
+            boolean weak = ifMatch.startsWith("W/", position);
+            int open = weak ? position + 2 : position;
+            int close = open < ifMatch.length() && ifMatch.charAt(open) == '"' ? ifMatch.indexOf('"', open + 1) : -1;
+            if(close < 0 || !isOpaqueTag(ifMatch, open + 1, close) || !endsListElement(ifMatch, close + 1))
+                throw new InvalidReleaseException("If-Match must be \"*\" or a list of ETags such as \"3\"");
+            tags++;
+            if(!weak)
+                parseVersion(ifMatch.substring(open + 1, close)).ifPresent(versions::add);
+            position = close + 1;
+        }
+        if(tags == 0)
+            throw new InvalidReleaseException("If-Match must be \"*\" or a list of ETags such as \"3\"");
+        return versions;
+    }
+
+    private static boolean isOpaqueTag(String value, int from, int to) {
+        for(int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if(c < 0x21 || c == 0x7f)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Whether only optional whitespace lies between a tag's closing quote and the next comma
+     * or the end of the header.
+     */
+    private static boolean endsListElement(String value, int from) {
+        for(int i = from; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if(c == ',')
+                return true;
+            if(c != ' ' && c != '\t')
+                return false;
+        }
+        return true;
+    }
+
+    private static Optional<Long> parseVersion(String opaqueTag) {
+        try {
+            return Optional.of(Long.valueOf(opaqueTag));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+}
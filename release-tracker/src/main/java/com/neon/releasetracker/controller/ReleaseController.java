@@ -1,22 +1,58 @@
 package com.neon.releasetracker.controller;
 
+import com.neon.releasetracker.cache.ReleaseQueryKey;
+import com.neon.releasetracker.dto.BatchResultDTO;
+import com.neon.releasetracker.dto.ImportResultDTO;
+import com.neon.releasetracker.dto.ReleaseBatchUpdateDTO;
+import com.neon.releasetracker.dto.ReleaseCursor;
 import com.neon.releasetracker.dto.ReleaseRequestDTO;
 import com.neon.releasetracker.dto.ReleaseResponseDTO;
+import com.neon.releasetracker.dto.ReleaseSearchResultDTO;
+import com.neon.releasetracker.dto.ReleaseStatsDTO;
+import com.neon.releasetracker.dto.ReleaseStatusHistoryDTO;
+import com.neon.releasetracker.dto.ReleaseTransitionRequestDTO;
+import com.neon.releasetracker.dto.ReleaseTransitionResultDTO;
+import com.neon.releasetracker.dto.StageDwellTimeDTO;
 import com.neon.releasetracker.dto.UpdateDtoGroup;
+import com.neon.releasetracker.entity.Release;
+import com.neon.releasetracker.enums.CreateConflictMode;
+import com.neon.releasetracker.enums.ImportConflictMode;
+import com.neon.releasetracker.enums.ReleaseFileFormat;
 import com.neon.releasetracker.enums.Status;
+import com.neon.releasetracker.enums.TotalCountMode;
+import com.neon.releasetracker.feed.ReleaseChangeFeed;
+import com.neon.releasetracker.service.ReleaseBatchService;
+import com.neon.releasetracker.service.ReleaseExportService;
+import com.neon.releasetracker.service.ReleaseImportService;
 import com.neon.releasetracker.service.ReleaseService;
+import com.neon.releasetracker.service.ReleaseStatusHistoryService;
+import com.neon.releasetracker.stats.ReleaseStatsTracker;
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 
 @RestController
@@ -24,12 +60,35 @@ import java.util.List;
 @Validated
 public class ReleaseController {
     private static final Logger logger = LoggerFactory.getLogger((ReleaseController.class));
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String HAS_NEXT_HEADER = "X-Has-Next";
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final String TOTAL_COUNT_ESTIMATE_HEADER = "X-Total-Count-Estimate";
+    private static final int MAX_BATCH_SIZE = 1000;
     private final ReleaseService releaseService;
+    private final ReleaseBatchService releaseBatchService;
+    private final ReleaseExportService releaseExportService;
+    private final ReleaseImportService releaseImportService;
+    private final ReleaseStatusHistoryService releaseStatusHistoryService;
+    private final ReleaseStatsTracker releaseStatsTracker;
+    private final ReleaseChangeFeed releaseChangeFeed;
     @Value("${logging.applogs.enable}")
     private boolean enableAppLogs;
 
-    public ReleaseController(ReleaseService releaseService) {
+    public ReleaseController(ReleaseService releaseService,
+                             ReleaseBatchService releaseBatchService,
+                             ReleaseExportService releaseExportService,
+                             ReleaseImportService releaseImportService,
+                             ReleaseStatusHistoryService releaseStatusHistoryService,
+                             ReleaseStatsTracker releaseStatsTracker,
+                             ReleaseChangeFeed releaseChangeFeed) {
         this.releaseService = releaseService;
+        this.releaseBatchService = releaseBatchService;
+        this.releaseExportService = releaseExportService;
+        this.releaseImportService = releaseImportService;
+        this.releaseStatusHistoryService = releaseStatusHistoryService;
+        this.releaseStatsTracker = releaseStatsTracker;
+        this.releaseChangeFeed = releaseChangeFeed;
     }
 
     @Operation(summary = "Welcome", description = "Welcome page.")
@@ -38,80 +97,311 @@ public class ReleaseController {
         return "Welcome to Release Tracker Service";
     }
 
-    @Operation(summary = "Get all releases", description = "Fetches all releases.")
+    @Operation(summary = "Get all releases", description = "Fetches all releases. Passing a cursor (empty for the " +
+            "first page) switches to keyset pagination; the next page's cursor is returned in the X-Next-Cursor header. " +
+            "Totals are only computed when requested with total=EXACT or total=ESTIMATED.")
     @GetMapping()
     public ResponseEntity<List<ReleaseResponseDTO>> getReleases(
             @RequestParam(required = false) Status status,
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String description,
             @RequestParam(required = false) LocalDate releaseDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "NONE") TotalCountMode total,
             @PageableDefault(size = 5, sort = "releaseDate", direction = Sort.Direction.DESC) Pageable pageable
             ) {
         if(enableAppLogs) {
             logger.info("Req to list all releases");
         }
 
+        var response = ResponseEntity.ok();
+        addTotalCount(response, total, status, name, description, releaseDate);
+        if(cursor != null)
+            return getReleasesAfter(response, status, name, description, releaseDate, cursor, pageable.getPageSize());
+
         var releases = releaseService.getAllReleases(status, name, description, releaseDate, pageable);
-        var releasesResponseDto = releases.stream().
-                map(releaseService::mapToResponseDTO)
-                .toList();
-        return ResponseEntity.ok(releasesResponseDto);
+        response.header(HAS_NEXT_HEADER, String.valueOf(releases.hasNext()));
+        return conditionalListing(response, releases.getContent());
+    }
+
+    private ResponseEntity<List<ReleaseResponseDTO>> getReleasesAfter(
+            ResponseEntity.BodyBuilder response,
+            Status status,
+            String name,
+            String description,
+            LocalDate releaseDate,
+            String cursor,
+            int size) {
+        var after = cursor.isBlank() ? null : ReleaseCursor.decode(cursor);
+        var window = releaseService.getReleasesAfter(status, name, description, releaseDate, after, size);
+
+        response.header(HAS_NEXT_HEADER, String.valueOf(window.hasNext()));
+        if(window.hasNext())
+            response.header(NEXT_CURSOR_HEADER, ReleaseCursor.from(window.positionAt(window.size() - 1)).encode());
+        return conditionalListing(response, window.getContent());
+    }
+
+    /**
+     * Adds an ETag; a matching If-None-Match is answered with 304 by Spring before the body
+     * is serialized. Listings carry no Last-Modified: row timestamps miss deletes, and no
+     * per-instance clock of the last write is exact across instances, so only the content
+     * hash can tell that a page is unchanged.
+     */
+    private ResponseEntity<List<ReleaseResponseDTO>> conditionalListing(
+            ResponseEntity.BodyBuilder response,
+            List<ReleaseResponseDTO> releasesResponseDto) {
+        response.headers(headers -> headers.setETag(ETags.of(releasesResponseDto,
+                headers.getFirst(HAS_NEXT_HEADER),
+                headers.getFirst(NEXT_CURSOR_HEADER),
+                headers.getFirst(TOTAL_COUNT_HEADER),
+                headers.getFirst(TOTAL_COUNT_ESTIMATE_HEADER))));
+        return response.body(releasesResponseDto);
+    }
+
+    private static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    private void addTotalCount(
+            ResponseEntity.BodyBuilder response,
+            TotalCountMode total,
+            Status status,
+            String name,
+            String description,
+            LocalDate releaseDate) {
+        switch (total) {
+            case EXACT -> response.header(TOTAL_COUNT_HEADER,
+                    String.valueOf(releaseService.countReleases(status, name, description, releaseDate)));
+            case ESTIMATED -> response.header(TOTAL_COUNT_ESTIMATE_HEADER,
+                    String.valueOf(releaseService.estimateReleaseCount(status, name, description, releaseDate)));
+            case NONE -> { }
+        }
+    }
+
+    @Operation(summary = "Export releases", description = "Streams every release matching the filters as " +
+            "newline-delimited JSON (format=NDJSON) or CSV (format=CSV), ordered by id.")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportReleases(
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String description,
+            @RequestParam(required = false) LocalDate releaseDate,
+            @RequestParam(defaultValue = "NDJSON") ReleaseFileFormat format) {
+        if(enableAppLogs) {
+            logger.info("Req to export releases as {}", format);
+        }
+
+        StreamingResponseBody body = out ->
+                releaseExportService.exportReleases(status, name, description, releaseDate, format, out);
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"releases." + format.getFileExtension() + "\"")
+                .body(body);
+    }
+
+    @Operation(summary = "Search releases", description = "Searches release names and descriptions, best matches first.")
+    @GetMapping("/search")
+    public ResponseEntity<List<ReleaseSearchResultDTO>> searchReleases(
+            @RequestParam @NotBlank(message = "Search text cannot be empty")
+            @Size(min = 3, max = 100, message = "Search text must be between 3 and 100 characters") String q,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+        if(enableAppLogs) {
+            logger.info("Req to search releases, text:{}", q);
+        }
+
+        return ResponseEntity.ok(releaseService.searchReleases(q.strip(), limit));
+    }
+
+    @Operation(summary = "Get release statistics", description = "Counts releases per status, per ISO week and " +
+            "month of the release date, and the releases not yet on production that are upcoming or overdue. Served " +
+            "from in-memory counters kept up to date by every write and periodically recounted from the database.")
+    @GetMapping("/stats")
+    public ResponseEntity<ReleaseStatsDTO> getReleaseStats() {
+        if(enableAppLogs) {
+            logger.info("Req to get release statistics");
+        }
+
+        return ResponseEntity.ok(releaseStatsTracker.snapshot());
+    }
+
+    @Operation(summary = "Stream release changes", description = "Streams every committed create, update and delete " +
+            "as server-sent events, optionally only for releases with the status or whose name contains the text before " +
+            "or after the change. Send Last-Event-ID to resume after the last event received; a RESET event means events " +
+            "were missed and the releases should be reloaded.")
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamReleaseChanges(
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) String name,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        if(enableAppLogs) {
+            logger.info("Req to stream release changes, status:{} name:{} last event id:{}", status, name, lastEventId);
+        }
+
+        return ResponseEntity.ok(releaseChangeFeed.subscribe(ReleaseQueryKey.ofFilter(status, name, null, null), lastEventId));
     }
 
     @Operation(summary = "Get single release by Id", description = "Fetches a release by its Id.")
     @GetMapping("/{id}")
     public ResponseEntity<ReleaseResponseDTO> getRelease(@PathVariable Long id) {
         if(enableAppLogs) {
-            logger.info("Req to get release with id:" + id);
+            logger.info("Req to get release with id:{}", id);
         }
 
         var release = releaseService.getReleaseById(id);
         var releaseResponseDto = releaseService.mapToResponseDTO(release);
-        return ResponseEntity.ok(releaseResponseDto);
+        return ResponseEntity.ok()
+                .eTag(ETags.ofVersion(release.getVersion()))
+                .lastModified(toInstant(release.getLastUpdatedAt()))
+                .body(releaseResponseDto);
     }
 
-    @Operation(summary = "Create release", description = "Creates a release.")
+    @Operation(summary = "Get status history of a release", description = "Lists the status transitions of a " +
+            "release, oldest first, with the time spent in each status. Transitions are recorded asynchronously and " +
+            "appear shortly after the write that made them; the history of a deleted release is kept.")
+    @GetMapping("/{id}/history")
+    public ResponseEntity<ReleaseStatusHistoryDTO> getReleaseHistory(@PathVariable Long id) {
+        if(enableAppLogs) {
+            logger.info("Req to get status history of release with id:{}", id);
+        }
+
+        return ResponseEntity.ok(releaseStatusHistoryService.getHistory(id));
+    }
+
+    @Operation(summary = "Get dwell time per status", description = "Time releases spent in each status before " +
+            "moving on (average, median, 90th percentile and maximum, in seconds), over stays that began on or after since.")
+    @GetMapping("/history/dwell-times")
+    public ResponseEntity<List<StageDwellTimeDTO>> getStageDwellTimes(
+            @RequestParam(required = false) LocalDate since) {
+        if(enableAppLogs) {
+            logger.info("Req to get stage dwell times since:{}", since);
+        }
+
+        return ResponseEntity.ok(releaseStatusHistoryService.getStageDwellTimes(since));
+    }
+
+    @Operation(summary = "Create release", description = "Creates a release. If the name is taken the request " +
+            "fails (onConflict=FAIL) or the existing release is returned with 200 OK (onConflict=RETURN_EXISTING), " +
+            "so a client can safely retry a create whose response it did not receive.")
     @PostMapping()
     public ResponseEntity<ReleaseResponseDTO> createRelease(
-            @RequestBody ReleaseRequestDTO releaseReqDto) {
+            @RequestBody ReleaseRequestDTO releaseReqDto,
+            @RequestParam(defaultValue = "FAIL") CreateConflictMode onConflict) {
         if(enableAppLogs) {
-            logger.info("Req to create release, name:" + releaseReqDto.name()
-                    + " description:" + releaseReqDto.description()
-                    + " status:" + releaseReqDto.status()
-                    + " release date:" + releaseReqDto.releaseDate());
+            logger.info("Req to create release, name:{} description:{} status:{} release date:{} on conflict:{}",
+                    releaseReqDto.name(), releaseReqDto.description(), releaseReqDto.status(), releaseReqDto.releaseDate(), onConflict);
         }
 
-        var newRelease = releaseService.createRelease(releaseReqDto);
+        var status = HttpStatus.CREATED;
+        Release newRelease;
+        if(onConflict == CreateConflictMode.FAIL)
+            newRelease = releaseService.createRelease(releaseReqDto);
+        else {
+            var outcome = releaseService.createRelease(releaseReqDto, onConflict);
+            newRelease = outcome.release();
+            if(!outcome.created())
+                status = HttpStatus.OK;
+        }
         var releaseResponseDto = releaseService.mapToResponseDTO(newRelease);
-        return ResponseEntity.status(HttpStatus.CREATED).body(releaseResponseDto);
+        return ResponseEntity.status(status)
+                .eTag(ETags.ofVersion(newRelease.getVersion()))
+                .body(releaseResponseDto);
     }
 
-    @Operation(summary = "Update release", description = "Updates a release.")
+    @Operation(summary = "Update release", description = "Updates the given fields of a release in a single " +
+            "statement. With If-Match set to the release's ETag the update only applies to that version; otherwise " +
+            "412 Precondition Failed is returned. The response carries the new ETag.")
     @PutMapping("/{id}")
     public ResponseEntity<ReleaseResponseDTO> updateRelease(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Validated(UpdateDtoGroup.class) @RequestBody ReleaseRequestDTO releaseReqDto) {
         if(enableAppLogs) {
-            logger.info("Req to update release with id " + id
-                    + ", name:" + releaseReqDto.name()
-                    + " description:" + releaseReqDto.description()
-                    + " status:" + releaseReqDto.status()
-                    + " release date:" + releaseReqDto.releaseDate());
+            logger.info("Req to update release with id {}, name:{} description:{} status:{} release date:{} if match:{}",
+                    id, releaseReqDto.name(), releaseReqDto.description(), releaseReqDto.status(), releaseReqDto.releaseDate(), ifMatch);
         }
 
-        var updatedRelease = releaseService.updateRelease(id, releaseService.mapToEntity(releaseReqDto));
+        var expectedVersions = ETags.expectedVersions(ifMatch);
+        var updatedRelease = releaseService.updateRelease(id, releaseService.mapToEntity(releaseReqDto), expectedVersions);
         var releaseResponseDto = releaseService.mapToResponseDTO(updatedRelease);
-        return ResponseEntity.ok(releaseResponseDto);
+        return ResponseEntity.ok()
+                .eTag(ETags.ofVersion(updatedRelease.getVersion()))
+                .body(releaseResponseDto);
     }
 
-    @Operation(summary = "Delete release", description = "Deletes a release by its Id.")
+    @Operation(summary = "Delete release", description = "Deletes a release by its Id. With If-Match set to the " +
+            "release's ETag it is only deleted if unchanged since; otherwise 412 Precondition Failed is returned.")
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteRelease(@PathVariable Long id) {
+    public ResponseEntity<Void> deleteRelease(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         if(enableAppLogs) {
-            logger.info("Req to delete release with id:" + id);
+            logger.info("Req to delete release with id:{} if match:{}", id, ifMatch);
         }
 
-        releaseService.deleteRelease(id);
+        releaseService.deleteRelease(id, ETags.expectedVersions(ifMatch));
         return ResponseEntity.noContent().build();
     }
+
+    @Operation(summary = "Create releases in bulk", description = "Creates up to 1000 releases and reports the outcome per item.")
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDTO> createReleases(
+            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<ReleaseRequestDTO> releaseReqDtos) {
+        if(enableAppLogs) {
+            logger.info("Req to create {} releases", releaseReqDtos.size());
+        }
+
+        return ResponseEntity.ok(releaseBatchService.createReleases(releaseReqDtos));
+    }
+
+    @Operation(summary = "Update releases in bulk", description = "Updates up to 1000 releases by id and reports the outcome per item.")
+    @PutMapping("/batch")
+    public ResponseEntity<BatchResultDTO> updateReleases(
+            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<ReleaseBatchUpdateDTO> releaseUpdateDtos) {
+        if(enableAppLogs) {
+            logger.info("Req to update {} releases", releaseUpdateDtos.size());
+        }
+
+        return ResponseEntity.ok(releaseBatchService.updateReleases(releaseUpdateDtos));
+    }
+
+    @Operation(summary = "Delete releases in bulk", description = "Deletes up to 1000 releases by id and reports the outcome per item.")
+    @DeleteMapping("/batch")
+    public ResponseEntity<BatchResultDTO> deleteReleases(
+            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<Long> ids) {
+        if(enableAppLogs) {
+            logger.info("Req to delete {} releases", ids.size());
+        }
+
+        return ResponseEntity.ok(releaseBatchService.deleteReleases(ids));
+    }
+
+    @Operation(summary = "Move releases between statuses", description = "Moves every release in status from " +
+            "that matches the optional name, description and releaseDate filters to status to, in one statement, " +
+            "and returns the ids of the releases moved.")
+    @PostMapping("/transitions")
+    public ResponseEntity<ReleaseTransitionResultDTO> transitionReleases(
+            @Validated @RequestBody ReleaseTransitionRequestDTO transition) {
+        if(enableAppLogs) {
+            logger.info("Req to move releases from {} to {}", transition.from(), transition.to());
+        }
+
+        var ids = releaseService.transitionReleases(transition);
+        return ResponseEntity.ok(new ReleaseTransitionResultDTO(transition.from(), transition.to(), ids.size(), ids));
+    }
+
+    @Operation(summary = "Import releases", description = "Loads releases from an NDJSON (application/x-ndjson) or " +
+            "CSV (text/csv) body in chunks. Releases whose name already exists are skipped (onConflict=SKIP) or " +
+            "updated (onConflict=UPDATE); invalid records are reported by line.")
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public ResponseEntity<ImportResultDTO> importReleases(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            @RequestParam(defaultValue = "SKIP") ImportConflictMode onConflict,
+            InputStream body) throws IOException {
+        if(enableAppLogs) {
+            logger.info("Req to import releases, content type:{} on conflict:{}", contentType, onConflict);
+        }
+
+        var format = ReleaseFileFormat.fromMediaType(contentType);
+        return ResponseEntity.ok(releaseImportService.importReleases(body, format, onConflict));
+    }
 }
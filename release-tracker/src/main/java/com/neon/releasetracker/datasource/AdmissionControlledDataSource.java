@@ -0,0 +1,112 @@
+package com.neon.releasetracker.datasource;
+
+import com.neon.releasetracker.exception.ConnectionAdmissionException;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps how many callers may hold or wait for a pooled connection. With virtual threads a
+ * burst of requests is no longer throttled by the Tomcat thread pool, so without this every
+ * request would queue inside the pool until its timeout. At most maxConcurrent connections
+ * are handed out; up to maxWaiting further callers wait for acquireTimeout, and anyone beyond
+ * that is rejected at once with {@link ConnectionAdmissionException}.
+ */
+public class AdmissionControlledDataSource extends DelegatingDataSource {
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final int maxWaiting;
+    private final Duration acquireTimeout;
+    private final Duration retryAfter;
+
+    public AdmissionControlledDataSource(DataSource targetDataSource,
+                                         int maxConcurrent,
+                                         int maxWaiting,
+                                         Duration acquireTimeout,
+                                         Duration retryAfter) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxWaiting = maxWaiting;
+        this.acquireTimeout = acquireTimeout;
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        admit();
+        return guarded(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        admit();
+        return guarded(() -> super.getConnection(username, password));
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getWaiting() {
+        return waiting.get();
+    }
+
+    private void admit() throws SQLException {
+        if(permits.tryAcquire())
+            return;
+        if(waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            throw new ConnectionAdmissionException("Too many requests waiting for a database connection", retryAfter);
+        }
+
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectionAdmissionException("Interrupted while waiting for a database connection", retryAfter);
+        } finally {
+            waiting.decrementAndGet();
+        }
+        if(!acquired)
+            throw new ConnectionAdmissionException("Timed out waiting for a database connection", retryAfter);
+    }
+
+    private Connection guarded(ConnectionSupplier supplier) throws SQLException {
+        Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+
+        var released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    if(method.getName().equals("close") && released.compareAndSet(false, true))
+                        permits.release();
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+}
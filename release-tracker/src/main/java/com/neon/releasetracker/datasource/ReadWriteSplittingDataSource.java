@@ -0,0 +1,37 @@
+package com.neon.releasetracker.datasource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Connections are bound to a physical connection on their first statement: by then the
+ * transaction manager has marked read-only transactions, which are served by the replica
+ * router, while everything else goes to the primary. Closing it closes all pools.
+ */
+public class ReadWriteSplittingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+    private final ReplicaRoutingDataSource replicaRouter;
+
+    public ReadWriteSplittingDataSource(DataSource primary, ReplicaRoutingDataSource replicaRouter) {
+        super(primary);
+        this.replicaRouter = replicaRouter;
+        setReadOnlyDataSource(replicaRouter);
+        afterPropertiesSet();
+    }
+
+    public ReplicaRoutingDataSource getReplicaRouter() {
+        return replicaRouter;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for(var replica : replicaRouter.replicas()) {
+            if(replica.dataSource() instanceof Closeable closeable)
+                closeable.close();
+        }
+        if(getTargetDataSource() instanceof Closeable closeable)
+            closeable.close();
+    }
+}
@@ -0,0 +1,125 @@
+package com.neon.releasetracker.datasource;
+
+import com.neon.releasetracker.event.ReleaseChangedEvent;
+import com.neon.releasetracker.event.ReleasesImportedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Probes every replica each lagCheckInterval: reads the primary's current WAL position,
+ * then asks each replica whether it has replayed that far and, if not, how old its last
+ * replayed transaction is. Writes are recorded from the release change events, both
+ * before commit (so reads are pinned to the primary from the moment a write can become
+ * visible) and after commit (so only a probe started after the commit can release them).
+ */
+public class ReplicaLagMonitor implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger((ReplicaLagMonitor.class));
+    private static final String PRIMARY_POSITION_QUERY = "SELECT pg_current_wal_lsn()::text";
+    private static final String REPLICA_POSITION_QUERY = """
+            SELECT NOT pg_is_in_recovery() OR pg_last_wal_replay_lsn() >= ?::pg_lsn,
+                   COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+            """;
+    private final DataSource primary;
+    private final ReplicaRoutingDataSource replicaRouter;
+    private final Duration interval;
+    private ScheduledExecutorService executor;
+
+    public ReplicaLagMonitor(DataSource primary, ReplicaRoutingDataSource replicaRouter, Duration interval, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicaRouter = replicaRouter;
+        this.interval = interval;
+        for(var replica : replicaRouter.replicas()) {
+            Gauge.builder("jdbc.replica.lag", replica, r -> r.isHealthy() ? r.lagNanos() / 1e9 : Double.NaN)
+                    .description("Seconds the replica is behind the primary, as of the last probe")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name())
+                    .register(meterRegistry);
+            Gauge.builder("jdbc.replica.healthy", replica, r -> r.isHealthy() ? 1 : 0)
+                    .description("Whether the last probe of the replica succeeded")
+                    .tag("replica", replica.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void beforeReleaseChangeCommit(ReleaseChangedEvent event) {
+        replicaRouter.markWrite();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReleaseChanged(ReleaseChangedEvent event) {
+        replicaRouter.markWrite();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void beforeReleasesImportCommit(ReleasesImportedEvent event) {
+        replicaRouter.markWrite();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReleasesImported(ReleasesImportedEvent event) {
+        replicaRouter.markWrite();
+    }
+
+    void probe() {
+        long startedNanos = System.nanoTime();
+        String primaryPosition;
+        try (var connection = primary.getConnection();
+             var statement = connection.createStatement();
+             var resultSet = statement.executeQuery(PRIMARY_POSITION_QUERY)) {
+            resultSet.next();
+            primaryPosition = resultSet.getString(1);
+        } catch (SQLException e) {
+            logger.warn("Could not read the primary WAL position: {}", e.getMessage());
+            return;
+        }
+
+        for(var replica : replicaRouter.replicas()) {
+            try (var connection = replica.dataSource().getConnection();
+                 var statement = connection.prepareStatement(REPLICA_POSITION_QUERY)) {
+                statement.setString(1, primaryPosition);
+                try (var resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    long lagNanos = (long) (resultSet.getDouble(2) * 1_000_000_000L);
+                    replica.probed(startedNanos, resultSet.getBoolean(1), lagNanos);
+                }
+            } catch (SQLException e) {
+                if(replica.isHealthy())
+                    logger.warn("Replica {} is unreachable, routing its reads to the primary: {}", replica.name(), e.getMessage());
+                replica.unreachable();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("replica-lag-monitor").daemon().factory());
+        executor.scheduleWithFixedDelay(this::probe, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        logger.info("Probing {} replica(s) every {}", replicaRouter.replicas().size(), interval);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if(executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return executor != null;
+    }
+}
@@ -0,0 +1,115 @@
+package com.neon.releasetracker.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out connections for read-only work: round-robin over the replicas that are
+ * reachable, no more than maxLag behind the primary and known to have replayed every
+ * write committed through this instance; the primary when none qualifies.
+ * <p>
+ * The last condition gives read-your-writes: a write pins reads to the primary until a
+ * lag probe started after its commit finds a replica caught up. It also keeps a read
+ * that follows a write from putting the pre-write row back into the caches.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    public static final String PRIMARY = "primary";
+    private final List<Replica> replicas;
+    private final long maxLagNanos;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLong lastWriteNanos = new AtomicLong(System.nanoTime());
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, Duration maxLag) {
+        this.replicas = List.copyOf(replicas);
+        this.maxLagNanos = maxLag.toNanos();
+        var targets = new HashMap<Object, Object>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach(replica -> targets.put(replica.name(), replica.dataSource()));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        long lastWrite = lastWriteNanos.get();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, replicas.size()));
+        for(int i = 0; i < replicas.size(); i++) {
+            var replica = replicas.get((start + i) % replicas.size());
+            if(replica.isEligible(lastWrite, maxLagNanos))
+                return replica.name();
+        }
+        return PRIMARY;
+    }
+
+    public String currentTarget() {
+        return (String) determineCurrentLookupKey();
+    }
+
+    public void markWrite() {
+        lastWriteNanos.set(System.nanoTime());
+    }
+
+    public List<Replica> replicas() {
+        return replicas;
+    }
+
+    /**
+     * Probe results for one replica, written by {@link ReplicaLagMonitor}.
+     */
+    public static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+        private volatile long lagNanos = Long.MAX_VALUE;
+        private volatile long caughtUpAtNanos = Long.MIN_VALUE;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public DataSource dataSource() {
+            return dataSource;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        public long lagNanos() {
+            return lagNanos;
+        }
+
+        /**
+         * Records a successful probe. probeStartedNanos is taken before the primary's WAL
+         * position was read, so a replica that had replayed up to that position has every
+         * write committed before probeStartedNanos.
+         */
+        public void probed(long probeStartedNanos, boolean caughtUp, long lagNanos) {
+            if(caughtUp)
+                caughtUpAtNanos = probeStartedNanos;
+            this.lagNanos = caughtUp ? 0 : lagNanos;
+            this.healthy = true;
+        }
+
+        public void unreachable() {
+            healthy = false;
+        }
+
+        boolean isEligible(long lastWriteNanos, long maxLagNanos) {
+            return healthy && lagNanos <= maxLagNanos && caughtUpAtNanos - lastWriteNanos >= 0;
+        }
+    }
+}
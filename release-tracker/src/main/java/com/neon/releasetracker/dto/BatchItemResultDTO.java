@@ -0,0 +1,14 @@
+package com.neon.releasetracker.dto;
+
+import com.neon.releasetracker.enums.BatchItemStatus;
+
+public record BatchItemResultDTO(
+        int index,
+        Long id,
+        BatchItemStatus status,
+        String message) {
+
+    public static BatchItemResultDTO failed(int index, Long id, String message) {
+        return new BatchItemResultDTO(index, id, BatchItemStatus.FAILED, message);
+    }
+}
@@ -0,0 +1,22 @@
+package com.neon.releasetracker.dto;
+
+import com.neon.releasetracker.enums.BatchItemStatus;
+
+import java.util.Comparator;
+import java.util.List;
+
+public record BatchResultDTO(
+        int succeeded,
+        int failed,
+        List<BatchItemResultDTO> items) {
+
+    public static BatchResultDTO of(List<BatchItemResultDTO> items) {
+        var sorted = items.stream()
+                .sorted(Comparator.comparingInt(BatchItemResultDTO::index))
+                .toList();
+        int failed = (int) sorted.stream()
+                .filter(item -> item.status() == BatchItemStatus.FAILED)
+                .count();
+        return new BatchResultDTO(sorted.size() - failed, failed, sorted);
+    }
+}
@@ -0,0 +1,4 @@
+package com.neon.releasetracker.dto;
+
+public record ImportErrorDTO(long line, String message) {
+}
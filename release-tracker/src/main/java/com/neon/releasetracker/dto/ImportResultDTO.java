@@ -0,0 +1,12 @@
+package com.neon.releasetracker.dto;
+
+import java.util.List;
+
+public record ImportResultDTO(
+        long received,
+        long inserted,
+        long updated,
+        long skipped,
+        long failed,
+        List<ImportErrorDTO> errors) {
+}
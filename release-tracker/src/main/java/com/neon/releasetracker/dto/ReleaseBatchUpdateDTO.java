@@ -0,0 +1,21 @@
+package com.neon.releasetracker.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.neon.releasetracker.enums.Status;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+public record ReleaseBatchUpdateDTO(
+        @NotNull(message = "Id is required", groups = UpdateDtoGroup.class)
+        Long id,
+        String name,
+        String description,
+        Status status,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+        LocalDate releaseDate) {
+
+    public ReleaseRequestDTO toRequestDTO() {
+        return new ReleaseRequestDTO(name, description, status, releaseDate);
+    }
+}
@@ -0,0 +1,14 @@
+package com.neon.releasetracker.dto;
+
+import com.neon.releasetracker.enums.ReleaseChangeType;
+
+/**
+ * One event of the release change feed. release is the state after a create or update and
+ * the last state before a delete. A RESET event has neither id nor release: events may have
+ * been missed, so the client should reload the releases it shows.
+ */
+public record ReleaseChangeEventDTO(
+        Long id,
+        ReleaseChangeType type,
+        ReleaseResponseDTO release) {
+}
@@ -0,0 +1,55 @@
+package com.neon.releasetracker.dto;
+
+import com.neon.releasetracker.exception.InvalidReleaseException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+
+/**
+ * Opaque continuation token for keyset pagination. It encodes the (releaseDate, id)
+ * of the last release returned, which is the seek position for the next page.
+ */
+public record ReleaseCursor(LocalDate releaseDate, Long id) {
+    public static final Sort KEYSET_SORT = Sort.by(Sort.Direction.DESC, "releaseDate", "id");
+    private static final String RELEASE_DATE = "releaseDate";
+    private static final String ID = "id";
+    private static final String SEPARATOR = "|";
+
+    public static ReleaseCursor decode(String token) {
+        try {
+            var decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var parts = decoded.split("\\" + SEPARATOR);
+            if(parts.length != 2)
+                throw new InvalidReleaseException("Invalid cursor:" + token);
+            return new ReleaseCursor(LocalDate.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidReleaseException("Invalid cursor:" + token);
+        }
+    }
+
+    public static ReleaseCursor from(ScrollPosition position) {
+        if(!(position instanceof KeysetScrollPosition keyset))
+            throw new IllegalArgumentException("Expected a keyset position, got:" + position);
+        return new ReleaseCursor(
+                (LocalDate) keyset.getKeys().get(RELEASE_DATE),
+                ((Number) keyset.getKeys().get(ID)).longValue());
+    }
+
+    public String encode() {
+        var raw = releaseDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public KeysetScrollPosition toScrollPosition() {
+        var keys = new LinkedHashMap<String, Object>();
+        keys.put(RELEASE_DATE, releaseDate);
+        keys.put(ID, id);
+        return ScrollPosition.forward(keys);
+    }
+}
@@ -0,0 +1,8 @@
+package com.neon.releasetracker.dto;
+
+public record ReleaseSearchResultDTO(
+        ReleaseResponseDTO release,
+        double score,
+        String nameHighlight,
+        String descriptionHighlight) {
+}
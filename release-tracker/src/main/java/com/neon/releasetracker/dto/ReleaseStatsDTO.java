@@ -0,0 +1,24 @@
+package com.neon.releasetracker.dto;
+
+import com.neon.releasetracker.enums.Status;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Release counts as of the asOf date. byWeek is keyed by ISO week of the release date
+ * (2026-W07), byMonth by month (2026-02). Upcoming and overdue count the releases not yet
+ * on production whose release date is today or later, respectively already past.
+ * reconciledAt is when the counters were last checked against the database.
+ */
+public record ReleaseStatsDTO(
+        long total,
+        Map<Status, Long> byStatus,
+        Map<String, Long> byWeek,
+        Map<String, Long> byMonth,
+        long upcoming,
+        long overdue,
+        LocalDate asOf,
+        LocalDateTime reconciledAt) {
+}
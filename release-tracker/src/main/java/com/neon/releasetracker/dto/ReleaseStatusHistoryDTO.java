@@ -0,0 +1,15 @@
+package com.neon.releasetracker.dto;
+
+import com.neon.releasetracker.enums.Status;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * dwellSeconds totals the time spent in each status, counting revisits.
+ */
+public record ReleaseStatusHistoryDTO(
+        Long releaseId,
+        List<StatusTransitionDTO> transitions,
+        Map<Status, Long> dwellSeconds) {
+}
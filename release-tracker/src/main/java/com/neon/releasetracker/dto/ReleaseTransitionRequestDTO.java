@@ -0,0 +1,22 @@
+package com.neon.releasetracker.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.neon.releasetracker.enums.Status;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+/**
+ * Moves every release in status from to status to; name, description and releaseDate
+ * narrow the selection the same way as the listing filters.
+ */
+public record ReleaseTransitionRequestDTO(
+        @NotNull(message = "Status to move from is required")
+        Status from,
+        @NotNull(message = "Status to move to is required")
+        Status to,
+        String name,
+        String description,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+        LocalDate releaseDate) {
+}
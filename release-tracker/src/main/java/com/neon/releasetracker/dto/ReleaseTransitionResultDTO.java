@@ -0,0 +1,12 @@
+package com.neon.releasetracker.dto;
+
+import com.neon.releasetracker.enums.Status;
+
+import java.util.List;
+
+public record ReleaseTransitionResultDTO(
+        Status from,
+        Status to,
+        int updated,
+        List<Long> ids) {
+}
@@ -0,0 +1,12 @@
+package com.neon.releasetracker.dto;
+
+import com.neon.releasetracker.enums.Status;
+
+public record StageDwellTimeDTO(
+        Status status,
+        long stays,
+        double averageSeconds,
+        double medianSeconds,
+        double p90Seconds,
+        double maxSeconds) {
+}
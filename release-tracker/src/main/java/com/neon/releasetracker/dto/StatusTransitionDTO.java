@@ -0,0 +1,16 @@
+package com.neon.releasetracker.dto;
+
+import com.neon.releasetracker.enums.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * dwellSeconds is the time spent in toStatus, up to now for the current status.
+ */
+public record StatusTransitionDTO(
+        Status fromStatus,
+        Status toStatus,
+        LocalDateTime changedAt,
+        long dwellSeconds,
+        boolean current) {
+}
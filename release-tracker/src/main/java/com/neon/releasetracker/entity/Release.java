@@ -14,16 +14,20 @@ import java.time.temporal.ChronoUnit;
 
 @Entity
 public class Release {
+    public static final String ID_SEQUENCE = "release_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
-    @Column(name = "name", unique = true, nullable = false, columnDefinition = "VARCHAR")
+    @Column(name = "name", unique = true, nullable = false, columnDefinition = "VARCHAR(100)")
     @NotBlank(message = "Name cannot be empty")
     @Size(max = 100, message = "Name cannot exceed 100 characters")
     private String name;
 
-    @Column(name = "description", nullable = false, columnDefinition = "VARCHAR")
+    @Column(name = "description", nullable = false, columnDefinition = "VARCHAR(500)")
     @NotBlank(message = "Description cannot be empty")
     @Size(max = 500, message = "Description cannot exceed 500 characters")
     private String description;
@@ -45,6 +49,10 @@ public class Release {
     @Column(name = "last_update_at", nullable = false, columnDefinition = "TIMESTAMP")
     private LocalDateTime lastUpdatedAt;
 
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "BIGINT DEFAULT 0 NOT NULL")
+    private Long version;
+
     @PrePersist
     public void onCreate() {
         createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
@@ -137,4 +145,12 @@ public class Release {
     public void setLastUpdatedAt(LocalDateTime lastUpdatedAt) {
         this.lastUpdatedAt = lastUpdatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,71 @@
+package com.neon.releasetracker.entity;
+
+import com.neon.releasetracker.enums.Status;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One status transition of a release. fromStatus is null for the status a release was
+ * created with. Rows are kept when the release is deleted.
+ */
+@Entity
+@Table(name = "release_status_history",
+        indexes = @Index(name = "release_status_history_release_idx", columnList = "release_id, changed_at"))
+public class ReleaseStatusChange {
+    public static final String ID_SEQUENCE = "release_status_history_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(name = "release_id", nullable = false, updatable = false)
+    private Long releaseId;
+
+    @Column(name = "from_status", columnDefinition = "VARCHAR", updatable = false)
+    @Enumerated(EnumType.STRING)
+    private Status fromStatus;
+
+    @Column(name = "to_status", nullable = false, columnDefinition = "VARCHAR", updatable = false)
+    @Enumerated(EnumType.STRING)
+    private Status toStatus;
+
+    @Column(name = "changed_at", nullable = false, columnDefinition = "TIMESTAMP", updatable = false)
+    private LocalDateTime changedAt;
+
+    public ReleaseStatusChange(Long releaseId, Status fromStatus, Status toStatus, LocalDateTime changedAt) {
+        this.releaseId = releaseId;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.changedAt = changedAt;
+    }
+
+    public ReleaseStatusChange() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getReleaseId() {
+        return releaseId;
+    }
+
+    public Status getFromStatus() {
+        return fromStatus;
+    }
+
+    public Status getToStatus() {
+        return toStatus;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+}
@@ -0,0 +1,8 @@
+package com.neon.releasetracker.enums;
+
+public enum BatchItemStatus {
+    CREATED,
+    UPDATED,
+    DELETED,
+    FAILED;
+}
@@ -0,0 +1,6 @@
+package com.neon.releasetracker.enums;
+
+public enum CreateConflictMode {
+    FAIL,
+    RETURN_EXISTING
+}
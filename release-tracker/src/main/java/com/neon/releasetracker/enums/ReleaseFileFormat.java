@@ -0,0 +1,32 @@
+package com.neon.releasetracker.enums;
+
+import org.springframework.http.MediaType;
+
+public enum ReleaseFileFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    CSV(new MediaType("text", "csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String fileExtension;
+
+    ReleaseFileFormat(MediaType mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    public static ReleaseFileFormat fromMediaType(MediaType mediaType) {
+        for(var format : values()) {
+            if(format.mediaType.isCompatibleWith(mediaType))
+                return format;
+        }
+        throw new IllegalArgumentException("Unsupported format:" + mediaType);
+    }
+}
@@ -0,0 +1,6 @@
+package com.neon.releasetracker.enums;
+
+public enum SlowConsumerPolicy {
+    DROP_OLDEST,
+    DISCONNECT;
+}
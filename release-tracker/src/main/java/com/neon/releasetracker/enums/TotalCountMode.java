@@ -0,0 +1,7 @@
+package com.neon.releasetracker.enums;
+
+public enum TotalCountMode {
+    NONE,
+    EXACT,
+    ESTIMATED;
+}
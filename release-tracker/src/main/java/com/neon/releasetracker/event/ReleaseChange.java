@@ -0,0 +1,26 @@
+package com.neon.releasetracker.event;
+
+import com.neon.releasetracker.entity.Release;
+
+/**
+ * State of a single release before and after a write. before is null for a create,
+ * after is null for a delete.
+ */
+public record ReleaseChange(Release before, Release after) {
+
+    public static ReleaseChange created(Release after) {
+        return new ReleaseChange(null, after);
+    }
+
+    public static ReleaseChange updated(Release before, Release after) {
+        return new ReleaseChange(before, after);
+    }
+
+    public static ReleaseChange deleted(Release before) {
+        return new ReleaseChange(before, null);
+    }
+
+    public Long releaseId() {
+        return after != null ? after.getId() : before.getId();
+    }
+}
@@ -0,0 +1,14 @@
+package com.neon.releasetracker.event;
+
+import java.util.List;
+
+public record ReleaseChangedEvent(List<ReleaseChange> changes) {
+
+    public ReleaseChangedEvent {
+        changes = List.copyOf(changes);
+    }
+
+    public static ReleaseChangedEvent of(ReleaseChange change) {
+        return new ReleaseChangedEvent(List.of(change));
+    }
+}
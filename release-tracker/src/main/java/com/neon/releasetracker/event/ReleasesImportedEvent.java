@@ -0,0 +1,16 @@
+package com.neon.releasetracker.event;
+
+import com.neon.releasetracker.repository.ImportedRow;
+
+import java.util.List;
+
+/**
+ * Published once per committed import chunk. Updated rows carry only their previous
+ * status, so listings cannot be evicted selectively and are dropped as a whole.
+ */
+public record ReleasesImportedEvent(List<ImportedRow> rows) {
+
+    public List<Long> releaseIds() {
+        return rows.stream().map(ImportedRow::id).toList();
+    }
+}
@@ -0,0 +1,17 @@
+package com.neon.releasetracker.exception;
+
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+public class ConnectionAdmissionException extends SQLTransientConnectionException {
+    private final Duration retryAfter;
+
+    public ConnectionAdmissionException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -1,9 +1,16 @@
 package com.neon.releasetracker.exception;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -92,6 +99,68 @@ public class ReleaseTrackerExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    @ExceptionHandler(ReleaseVersionMismatchException.class)
+    public ResponseEntity<Map<String, Object>> handleReleaseVersionMismatchException(ReleaseVersionMismatchException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        response.put("status", HttpStatus.PRECONDITION_FAILED.value());
+        response.put("error", "Precondition Failed");
+        response.put("message", ex.getMessage());
+
+        var builder = ResponseEntity.status(HttpStatus.PRECONDITION_FAILED);
+        if(ex.getCurrentVersion() != null)
+            builder.eTag("\"" + ex.getCurrentVersion() + "\"");
+        return builder.body(response);
+    }
+
+    // a concurrent write changed the release between this request reading and writing it
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        response.put("status", HttpStatus.CONFLICT.value());
+        response.put("error", "Conflict");
+        response.put("message", "Release was modified concurrently, retry with its current version");
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    // a concurrent write took a name this request was about to use, after it was checked
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Map<String, Object>> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        response.put("status", HttpStatus.CONFLICT.value());
+        response.put("error", "Conflict");
+        response.put("message", "Release conflicts with a concurrent write, retry the request");
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<Map<String, Object>> handleDatabaseUnavailableException(Exception ex, HttpServletResponse servletResponse) {
+        // streamed responses (export) fail after their headers were set but before anything is written
+        if(!servletResponse.isCommitted())
+            servletResponse.reset();
+
+        var retryAfterSeconds = 1L;
+        var message = "Database is unavailable";
+        if(NestedExceptionUtils.getMostSpecificCause(ex) instanceof ConnectionAdmissionException admissionException) {
+            retryAfterSeconds = Math.max(1, admissionException.getRetryAfter().toSeconds());
+            message = admissionException.getMessage();
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        response.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.put("error", "Service Unavailable");
+        response.put("message", message);
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(response);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGeneralException(Exception ex) {
         Map<String, Object> response = new HashMap<>();
@@ -0,0 +1,14 @@
+package com.neon.releasetracker.exception;
+
+public class ReleaseVersionMismatchException extends RuntimeException {
+    private final Long currentVersion;
+
+    public ReleaseVersionMismatchException(String message, Long currentVersion) {
+        super(message);
+        this.currentVersion = currentVersion;
+    }
+
+    public Long getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -0,0 +1,170 @@
+package com.neon.releasetracker.feed;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neon.releasetracker.cache.ReleaseQueryKey;
+import com.neon.releasetracker.config.ReleaseChangeFeedProperties;
+import com.neon.releasetracker.dto.ReleaseChangeEventDTO;
+import com.neon.releasetracker.enums.ReleaseChangeType;
+import com.neon.releasetracker.enums.SlowConsumerPolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fans committed release changes out to the clients streaming GET /releases/changes.
+ * <p>
+ * The last replaySize events are kept in the order they arrived, so a reconnecting client
+ * resumes after the Last-Event-ID it saw. Every instance receives the notifications in
+ * commit order, so the replay does not depend on which instance the client reconnects to.
+ * A client whose id is no longer kept, or whose replay would not fit its buffer, gets a
+ * RESET event instead.
+ * <p>
+ * A full subscriber buffer never holds back the publisher: depending on slowConsumerPolicy
+ * the oldest queued events are dropped or the client is disconnected, in which case it
+ * can reconnect and resume from the replay.
+ */
+public class ReleaseChangeFeed {
+    private final ReleaseChangeFeedProperties properties;
+    private final ReleaseFeedEvent resetEvent;
+    private final Deque<ReleaseFeedEvent> replay;
+    private final List<ReleaseChangeSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final Lock lock = new ReentrantLock();
+    private final Counter overflowCounter;
+
+    public ReleaseChangeFeed(ReleaseChangeFeedProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.replay = new ArrayDeque<>(properties.replaySize());
+        try {
+            this.resetEvent = new ReleaseFeedEvent(null, null, null,
+                    objectMapper.writeValueAsString(new ReleaseChangeEventDTO(null, ReleaseChangeType.RESET, null)));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.overflowCounter = Counter.builder("release.changes.overflows")
+                .tag("policy", properties.slowConsumerPolicy().name())
+                .description("Events that did not fit a subscriber's buffer")
+                .register(meterRegistry);
+        Gauge.builder("release.changes.subscribers", subscriptions, List::size)
+                .description("Clients streaming release changes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of the changes matching the filter, first replaying the kept events
+     * that followed lastEventId when it is given.
+     */
+    public SseEmitter subscribe(ReleaseQueryKey filter, String lastEventId) {
+        var emitter = new SseEmitter(properties.streamTimeout().toMillis());
+        var subscription = newSubscription(emitter, filter);
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(e -> subscription.close());
+        register(subscription, lastEventId);
+        subscription.start();
+        return emitter;
+    }
+
+    ReleaseChangeSubscription newSubscription(SseEmitter emitter, ReleaseQueryKey filter) {
+        return new ReleaseChangeSubscription(emitter, filter, properties.subscriberBufferSize(),
+                properties.heartbeatInterval(), subscriptions::remove);
+    }
+
+    /**
+     * Queues the missed events, or a reset, and adds the subscriber under the publish lock,
+     * so that no event is skipped or delivered twice between the replay and the live feed.
+     */
+    void register(ReleaseChangeSubscription subscription, String lastEventId) {
+        lock.lock();
+        try {
+            if(lastEventId != null && !replayAfter(lastEventId, subscription))
+                subscription.offer(resetEvent);
+            subscriptions.add(subscription);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean replayAfter(String lastEventId, ReleaseChangeSubscription subscription) {
+        long id;
+        try {
+            id = Long.parseLong(lastEventId.strip());
+        } catch (NumberFormatException e) {
+            return false;
+        }
+
+        List<ReleaseFeedEvent> missed = null;
+        for(var event : replay) {
+            if(missed != null && event.matches(subscription.filter()))
+                missed.add(event);
+            else if(missed == null && event.id() == id)
+                missed = new ArrayList<>();
+        }
+        if(missed == null || missed.size() > subscription.remainingCapacity())
+            return false;
+        missed.forEach(subscription::offer);
+        return true;
+    }
+
+    /**
+     * Keeps the event for replay and queues it for every subscriber whose filter it matches.
+     */
+    void publish(ReleaseFeedEvent event) {
+        lock.lock();
+        try {
+            if(replay.size() == properties.replaySize())
+                replay.pollFirst();
+            replay.addLast(event);
+            for(var subscription : subscriptions) {
+                if(event.matches(subscription.filter()) && !subscription.offer(event))
+                    overflow(subscription, event);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void overflow(ReleaseChangeSubscription subscription, ReleaseFeedEvent event) {
+        overflowCounter.increment();
+        if(properties.slowConsumerPolicy() == SlowConsumerPolicy.DISCONNECT)
+            subscription.disconnect();
+        else
+            subscription.offerDroppingOldest(event);
+    }
+
+    /**
+     * Called when notifications may have been missed. The kept events no longer form a
+     * complete sequence, so they are dropped and every subscriber is told to reload.
+     */
+    void reset() {
+        lock.lock();
+        try {
+            replay.clear();
+            for(var subscription : subscriptions)
+                subscription.offerDroppingOldest(resetEvent);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Ends every stream, so that open connections do not hold back a graceful shutdown.
+     */
+    void disconnectAll() {
+        subscriptions.forEach(ReleaseChangeSubscription::disconnect);
+    }
+
+    int subscriberCount() {
+        return subscriptions.size();
+    }
+}
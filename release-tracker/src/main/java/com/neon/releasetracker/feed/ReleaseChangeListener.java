@@ -0,0 +1,188 @@
+package com.neon.releasetracker.feed;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neon.releasetracker.dto.ReleaseChangeEventDTO;
+import com.neon.releasetracker.entity.Release;
+import com.neon.releasetracker.enums.ReleaseChangeType;
+import com.neon.releasetracker.enums.Status;
+import com.neon.releasetracker.service.ReleaseService;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Properties;
+
+/**
+ * Listens on the release_changes channel, which the release table's trigger notifies on
+ * every committed write, and publishes each change to the feed. Because the database
+ * announces the changes, every instance streams the writes of all instances, including
+ * imports and set-based statements.
+ * <p>
+ * The channel is held on a dedicated connection outside the pool. When it is lost the
+ * listener reconnects after reconnectDelay and resets the feed, since notifications sent
+ * in between are gone.
+ */
+public class ReleaseChangeListener implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger((ReleaseChangeListener.class));
+    static final String CHANNEL = "release_changes";
+    private static final String APPLICATION_NAME = "release-change-listener";
+    private static final int POLL_TIMEOUT_MILLIS = 5000;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+    private final DataSourceProperties dataSourceProperties;
+    private final ReleaseChangeFeed feed;
+    private final ObjectMapper objectMapper;
+    private final ReleaseService releaseService;
+    private final Duration reconnectDelay;
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread listener;
+
+    public ReleaseChangeListener(DataSourceProperties dataSourceProperties,
+                                 ReleaseChangeFeed feed,
+                                 ObjectMapper objectMapper,
+                                 ReleaseService releaseService,
+                                 Duration reconnectDelay) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.feed = feed;
+        this.objectMapper = objectMapper;
+        this.releaseService = releaseService;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    private void listen() {
+        boolean listenedBefore = false;
+        while(running) {
+            try(var listening = connect()) {
+                connection = listening;
+                try(var statement = listening.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if(listenedBefore) {
+                    logger.warn("Listening on {} again, release change feed subscribers are told to reload", CHANNEL);
+                    feed.reset();
+                } else {
+                    logger.info("Listening on {} for release changes", CHANNEL);
+                }
+                listenedBefore = true;
+
+                var notifications = listening.unwrap(PGConnection.class);
+                while(running) {
+                    var received = notifications.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if(received == null || received.length == 0) {
+                        if(!listening.isValid(VALIDATION_TIMEOUT_SECONDS))
+                            throw new SQLException("Connection is no longer valid");
+                        continue;
+                    }
+                    for(var notification : received)
+                        dispatch(notification.getParameter());
+                }
+            } catch (SQLException e) {
+                if(running) {
+                    logger.warn("Lost the {} channel, reconnecting in {}: {}", CHANNEL, reconnectDelay, e.getMessage());
+                    pause();
+                }
+            } finally {
+                connection = null;
+            }
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        var info = new Properties();
+        info.setProperty("user", dataSourceProperties.determineUsername());
+        info.setProperty("password", dataSourceProperties.determinePassword());
+        info.setProperty("ApplicationName", APPLICATION_NAME);
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), info);
+    }
+
+    void dispatch(String payload) {
+        try {
+            var notification = objectMapper.readValue(payload, Notification.class);
+            var before = notification.before() != null ? notification.before().toRelease() : null;
+            var after = notification.after() != null ? notification.after().toRelease() : null;
+            var type = switch (notification.op()) {
+                case "INSERT" -> ReleaseChangeType.CREATED;
+                case "DELETE" -> ReleaseChangeType.DELETED;
+                default -> ReleaseChangeType.UPDATED;
+            };
+            var release = releaseService.mapToResponseDTO(after != null ? after : before);
+            var data = objectMapper.writeValueAsString(new ReleaseChangeEventDTO(notification.id(), type, release));
+            feed.publish(new ReleaseFeedEvent(notification.id(), before, after, data));
+        } catch (JsonProcessingException e) {
+            logger.warn("Skipping unreadable release change notification: {}", e.getOriginalMessage());
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(reconnectDelay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        listener = Thread.ofPlatform().name("release-change-listener").daemon().start(this::listen);
+    }
+
+    /**
+     * Stops before the web server's graceful shutdown (DEFAULT_PHASE - 1024) so the open
+     * streams are ended rather than waited for.
+     */
+    @Override
+    public synchronized void stop() {
+        running = false;
+        var listening = connection;
+        if(listening != null) {
+            try {
+                listening.close();
+            } catch (SQLException e) {
+                logger.debug("Closing the {} connection failed: {}", CHANNEL, e.getMessage());
+            }
+        }
+        if(listener != null) {
+            listener.interrupt();
+            listener = null;
+        }
+        feed.disconnectAll();
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Payload built by notify_release_change() in schema.sql; rows use the column names.
+     */
+    private record Notification(Long id, String op, Row before, Row after) {
+    }
+
+    private record Row(Long id,
+                       String name,
+                       String description,
+                       Status status,
+                       @JsonProperty("release_date") LocalDate releaseDate,
+                       @JsonProperty("created_at") LocalDateTime createdAt,
+                       @JsonProperty("last_update_at") LocalDateTime lastUpdateAt,
+                       Long version) {
+
+        Release toRelease() {
+            var release = new Release(id, name, description, status, releaseDate, createdAt, lastUpdateAt);
+            release.setVersion(version);
+            return release;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.neon.releasetracker.feed;
+
+import com.neon.releasetracker.cache.ReleaseQueryKey;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * One client of the change feed. Events are queued without blocking the publisher and a
+ * virtual thread writes them to the client, sending a comment every heartbeatInterval
+ * while idle so that proxies keep the connection open and dead clients are noticed.
+ */
+class ReleaseChangeSubscription {
+    private final SseEmitter emitter;
+    private final ReleaseQueryKey filter;
+    private final BlockingQueue<ReleaseFeedEvent> queue;
+    private final Duration heartbeatInterval;
+    private final Consumer<ReleaseChangeSubscription> onClose;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile Thread sender;
+
+    ReleaseChangeSubscription(SseEmitter emitter,
+                              ReleaseQueryKey filter,
+                              int bufferSize,
+                              Duration heartbeatInterval,
+                              Consumer<ReleaseChangeSubscription> onClose) {
+        this.emitter = emitter;
+        this.filter = filter;
+        this.queue = new ArrayBlockingQueue<>(bufferSize);
+        this.heartbeatInterval = heartbeatInterval;
+        this.onClose = onClose;
+    }
+
+    ReleaseQueryKey filter() {
+        return filter;
+    }
+
+    int remainingCapacity() {
+        return queue.remainingCapacity();
+    }
+
+    boolean offer(ReleaseFeedEvent event) {
+        return queue.offer(event);
+    }
+
+    /**
+     * Makes room for the event by discarding the oldest queued ones.
+     */
+    void offerDroppingOldest(ReleaseFeedEvent event) {
+        while(!queue.offer(event))
+            queue.poll();
+    }
+
+    List<ReleaseFeedEvent> pending() {
+        return List.copyOf(queue);
+    }
+
+    void start() {
+        sender = Thread.ofVirtual().name("release-changes-subscriber").start(this::send);
+    }
+
+    private void send() {
+        try {
+            while(!closed.get()) {
+                var event = queue.poll(heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if(event == null)
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                else if(event.isReset())
+                    emitter.send(SseEmitter.event().data(event.data(), MediaType.APPLICATION_JSON));
+                else
+                    emitter.send(SseEmitter.event().id(event.id().toString()).data(event.data(), MediaType.APPLICATION_JSON));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // the client went away or the stream timed out; the emitter callbacks clean up
+            close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Ends the stream; the client may reconnect with the last event id it received.
+     */
+    void disconnect() {
+        close();
+        emitter.complete();
+    }
+
+    void close() {
+        if(!closed.compareAndSet(false, true))
+            return;
+        var thread = sender;
+        if(thread != null && thread != Thread.currentThread())
+            thread.interrupt();
+        onClose.accept(this);
+    }
+}
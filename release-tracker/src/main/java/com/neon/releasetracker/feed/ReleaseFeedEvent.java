@@ -0,0 +1,23 @@
+package com.neon.releasetracker.feed;
+
+import com.neon.releasetracker.cache.ReleaseQueryKey;
+import com.neon.releasetracker.entity.Release;
+
+/**
+ * A change as received from the database, serialized once for all subscribers. before is
+ * null for a create, after is null for a delete; both are null for a reset.
+ */
+record ReleaseFeedEvent(Long id, Release before, Release after, String data) {
+
+    boolean isReset() {
+        return id == null;
+    }
+
+    /**
+     * Whether a subscriber with the filter should see the change: a release entering or
+     * leaving the filter is reported as well. Resets reach every subscriber.
+     */
+    boolean matches(ReleaseQueryKey filter) {
+        return isReset() || filter.matches(before) || filter.matches(after);
+    }
+}
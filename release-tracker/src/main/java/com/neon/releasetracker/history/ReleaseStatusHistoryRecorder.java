@@ -0,0 +1,232 @@
+package com.neon.releasetracker.history;
+
+import com.neon.releasetracker.config.ReleaseStatusHistoryProperties;
+import com.neon.releasetracker.entity.ReleaseStatusChange;
+import com.neon.releasetracker.event.ReleaseChange;
+import com.neon.releasetracker.event.ReleaseChangedEvent;
+import com.neon.releasetracker.event.ReleasesImportedEvent;
+import com.neon.releasetracker.repository.ImportedRow;
+import com.neon.releasetracker.repository.ReleaseStatusChangeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records committed status transitions off the request path. Transitions are queued
+ * after commit and a single writer thread inserts them in batches of up to batchSize,
+ * waiting at most flushInterval for a batch to fill. A full queue holds the committing
+ * request back for up to enqueueTimeout, then the transition is dropped and counted.
+ * <p>
+ * On shutdown the writer drains the queue once the web server has finished its
+ * in-flight requests; transitions still queued when the process dies are lost.
+ */
+public class ReleaseStatusHistoryRecorder implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger((ReleaseStatusHistoryRecorder.class));
+    private final ReleaseStatusChangeRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReleaseStatusHistoryProperties properties;
+    private final BlockingQueue<ReleaseStatusChange> queue;
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private volatile boolean running;
+    private Thread writer;
+
+    public ReleaseStatusHistoryRecorder(ReleaseStatusChangeRepository repository,
+                                        TransactionTemplate transactionTemplate,
+                                        ReleaseStatusHistoryProperties properties,
+                                        MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        this.writtenCounter = Counter.builder("release.status_history.written")
+                .description("Status transitions written to the history table")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("release.status_history.dropped")
+                .description("Status transitions dropped because the queue was full or the write kept failing")
+                .register(meterRegistry);
+        Gauge.builder("release.status_history.queued", queue, BlockingQueue::size)
+                .description("Status transitions waiting to be written")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReleaseChanged(ReleaseChangedEvent event) {
+        record(event.changes().stream()
+                .map(ReleaseStatusHistoryRecorder::toTransition)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReleasesImported(ReleasesImportedEvent event) {
+        record(event.rows().stream()
+                .map(ReleaseStatusHistoryRecorder::toTransition)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    private void record(List<ReleaseStatusChange> transitions) {
+        if(transitions.isEmpty())
+            return;
+        if(!running) {
+            write(new ArrayList<>(transitions));
+            return;
+        }
+
+        for(var transition : transitions) {
+            try {
+                if(!queue.offer(transition, properties.enqueueTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                    droppedCounter.increment();
+                    logger.warn("Status history queue is full, dropped transition of release {} to {}",
+                            transition.getReleaseId(), transition.getToStatus());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                droppedCounter.increment();
+                return;
+            }
+        }
+    }
+
+    /**
+     * A create is the transition into the initial status; an update counts only when the
+     * status changed. Deletes leave the history in place.
+     */
+    static ReleaseStatusChange toTransition(ReleaseChange change) {
+        if(change.after() == null)
+            return null;
+        var fromStatus = change.before() != null ? change.before().getStatus() : null;
+        if(fromStatus == change.after().getStatus())
+            return null;
+        var changedAt = change.after().getLastUpdatedAt() != null
+                ? change.after().getLastUpdatedAt()
+                : LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        return new ReleaseStatusChange(change.releaseId(), fromStatus, change.after().getStatus(), changedAt);
+    }
+
+    /**
+     * An inserted row is the transition into its initial status; an updated row counts
+     * only when its status changed. An updated row without a previous status was inserted
+     * concurrently and is left to that insert.
+     */
+    static ReleaseStatusChange toTransition(ImportedRow row) {
+        if(row.inserted())
+            return new ReleaseStatusChange(row.id(), null, row.status(), row.lastUpdatedAt());
+        if(row.previousStatus() == null || row.previousStatus() == row.status())
+            return null;
+        return new ReleaseStatusChange(row.id(), row.previousStatus(), row.status(), row.lastUpdatedAt());
+    }
+
+    private void runWriter() {
+        var batch = new ArrayList<ReleaseStatusChange>(properties.batchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                var first = queue.poll(properties.flushInterval().toNanos(), TimeUnit.NANOSECONDS);
+                if(first == null)
+                    continue;
+                batch.add(first);
+                long deadline = System.nanoTime() + properties.flushInterval().toNanos();
+                while (batch.size() < properties.batchSize()) {
+                    queue.drainTo(batch, properties.batchSize() - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if(batch.size() >= properties.batchSize() || remaining <= 0 || !running)
+                        break;
+                    var next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if(next != null)
+                        batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<ReleaseStatusChange> batch) {
+        if(batch.isEmpty())
+            return;
+        for(int attempt = 1; attempt <= properties.writeAttempts(); attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> repository.saveAll(batch));
+                writtenCounter.increment(batch.size());
+                return;
+            } catch (RuntimeException e) {
+                logger.warn("Writing {} status transitions failed (attempt {} of {}): {}",
+                        batch.size(), attempt, properties.writeAttempts(), e.getMessage());
+                batch.forEach(transition -> transition.setId(null));
+                if(attempt < properties.writeAttempts() && !sleep(properties.flushInterval().multipliedBy(attempt).toMillis()))
+                    break;
+            }
+        }
+        droppedCounter.increment(batch.size());
+        logger.error("Dropped {} status transitions after {} failed attempts", batch.size(), properties.writeAttempts());
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    int queued() {
+        return queue.size();
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("status-history-writer").daemon().start(this::runWriter);
+        logger.info("Writing status history in batches of up to {} every {}", properties.batchSize(), properties.flushInterval());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if(writer == null)
+            return;
+        running = false;
+        try {
+            writer.join(properties.shutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if(writer.isAlive())
+            logger.warn("Status history writer did not finish within {}, {} transitions are lost",
+                    properties.shutdownTimeout(), queue.size());
+        writer = null;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return writer != null;
+    }
+
+    /**
+     * Stops after the web server (whose graceful shutdown runs at DEFAULT_PHASE - 1024 and
+     * stop at DEFAULT_PHASE - 2048), so transitions of the last requests are still drained.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
@@ -0,0 +1,76 @@
+package com.neon.releasetracker.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps on average one in every N events at INFO and below for the configured logger
+ * categories, so per-request logs can stay on under load. WARN and ERROR always pass.
+ * Categories are given as "prefix=N" pairs separated by commas, e.g.
+ * "com.neon.releasetracker.controller=10"; the longest matching prefix wins.
+ * <p>
+ * Turbo filters run for every logging call before the level check, so the rate for a
+ * logger is resolved once and the sampling decision uses a thread-local random number
+ * rather than a shared counter.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+    private static final int KEEP_ALL = 1;
+    private final Map<String, Integer> rates = new TreeMap<>();
+    private final Map<String, Integer> ratesByLogger = new ConcurrentHashMap<>();
+
+    public void setSamples(String samples) {
+        rates.clear();
+        ratesByLogger.clear();
+        if(samples == null || samples.isBlank())
+            return;
+        for(var sample : samples.split(",")) {
+            var separator = sample.indexOf('=');
+            if(separator < 0) {
+                addError("Sampling rate must be given as prefix=N: " + sample);
+                continue;
+            }
+            try {
+                var every = Integer.parseInt(sample.substring(separator + 1).strip());
+                if(every < KEEP_ALL)
+                    throw new NumberFormatException("below 1");
+                rates.put(sample.substring(0, separator).strip(), every);
+            } catch (NumberFormatException e) {
+                addError("Invalid sampling rate " + sample + ": " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format is null for isXxxEnabled() checks, which are not events
+        if(rates.isEmpty() || format == null || level.isGreaterOrEqual(Level.WARN)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel()))
+            return FilterReply.NEUTRAL;
+
+        int every = ratesByLogger.computeIfAbsent(logger.getName(), this::rateOf);
+        if(every == KEEP_ALL || ThreadLocalRandom.current().nextInt(every) == 0)
+            return FilterReply.NEUTRAL;
+        return FilterReply.DENY;
+    }
+
+    private int rateOf(String loggerName) {
+        int every = KEEP_ALL;
+        int matched = -1;
+        for(var rate : rates.entrySet()) {
+            var prefix = rate.getKey();
+            if(prefix.length() > matched && (loggerName.equals(prefix) || loggerName.startsWith(prefix + "."))) {
+                every = rate.getValue();
+                matched = prefix.length();
+            }
+        }
+        return every;
+    }
+}
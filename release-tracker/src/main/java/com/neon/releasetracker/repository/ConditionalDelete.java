@@ -0,0 +1,10 @@
+package com.neon.releasetracker.repository;
+
+import com.neon.releasetracker.entity.Release;
+
+/**
+ * Outcome of a delete for a release that exists: current is the row as it was before the
+ * statement, deleted is false when the expected version did not match and the row was kept.
+ */
+public record ConditionalDelete(Release current, boolean deleted) {
+}
@@ -0,0 +1,14 @@
+package com.neon.releasetracker.repository;
+
+import com.neon.releasetracker.entity.Release;
+
+/**
+ * Outcome of an update for a release that exists: current is the row as it was before the
+ * statement, updated is the row as written, or null when the expected version did not match.
+ */
+public record ConditionalUpdate(Release current, Release updated) {
+
+    public boolean applied() {
+        return updated != null;
+    }
+}
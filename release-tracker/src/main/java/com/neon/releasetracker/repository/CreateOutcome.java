@@ -0,0 +1,11 @@
+package com.neon.releasetracker.repository;
+
+import com.neon.releasetracker.entity.Release;
+
+/**
+ * Result of an insert-if-absent: the inserted release, or the release that already held the
+ * name. release is null when the name was taken by a transaction that committed while the
+ * insert ran, as its row is not visible to the same statement.
+ */
+public record CreateOutcome(Release release, boolean created) {
+}
@@ -0,0 +1,12 @@
+package com.neon.releasetracker.repository;
+
+import com.neon.releasetracker.enums.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * A row written by an import. previousStatus is null for inserted rows, and also for an
+ * updated row that was inserted concurrently after the statement's snapshot was taken.
+ */
+public record ImportedRow(Long id, String name, boolean inserted, Status previousStatus, Status status, LocalDateTime lastUpdatedAt) {
+}
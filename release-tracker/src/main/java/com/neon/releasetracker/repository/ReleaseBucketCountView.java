@@ -0,0 +1,13 @@
+package com.neon.releasetracker.repository;
+
+import com.neon.releasetracker.enums.Status;
+
+import java.time.LocalDate;
+
+public interface ReleaseBucketCountView {
+    Status getStatus();
+
+    LocalDate getReleaseDate();
+
+    long getReleases();
+}
@@ -0,0 +1,7 @@
+package com.neon.releasetracker.repository;
+
+public interface ReleaseNameView {
+    Long getId();
+
+    String getName();
+}
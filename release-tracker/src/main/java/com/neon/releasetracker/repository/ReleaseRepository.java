@@ -7,12 +7,20 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ReleaseRepository extends JpaRepository<Release, Long>, JpaSpecificationExecutor<Release> {
+public interface ReleaseRepository extends JpaRepository<Release, Long>, JpaSpecificationExecutor<Release>, ReleaseRepositoryCustom {
 
     @Query("SELECT r FROM Release r WHERE r.name = :releaseName")
     Optional<Release> findReleaseByName(@Param("releaseName") String releaseName);
+
+    @Query("SELECT r.id AS id, r.name AS name FROM Release r WHERE r.name IN :names")
+    List<ReleaseNameView> findNamesIn(@Param("names") Collection<String> names);
+
+    @Query("SELECT r.status AS status, r.releaseDate AS releaseDate, COUNT(r) AS releases FROM Release r GROUP BY r.status, r.releaseDate")
+    List<ReleaseBucketCountView> countByStatusAndReleaseDate();
 }
 
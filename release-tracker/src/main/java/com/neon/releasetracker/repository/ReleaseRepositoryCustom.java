@@ -0,0 +1,108 @@
+package com.neon.releasetracker.repository;
+
+import com.neon.releasetracker.dto.ReleaseCursor;
+import com.neon.releasetracker.dto.ReleaseResponseDTO;
+import com.neon.releasetracker.entity.Release;
+import com.neon.releasetracker.enums.Status;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface ReleaseRepositoryCustom {
+
+    /**
+     * Fetches one row more than the page size to tell whether a next page exists,
+     * without the COUNT query that findAll(Specification, Pageable) issues. Rows are
+     * selected straight into response DTOs.
+     */
+    Slice<ReleaseResponseDTO> findSlice(Specification<Release> specification, Pageable pageable);
+
+    /**
+     * Keyset page of up to size releases following the cursor (the first page when null) in
+     * ReleaseCursor.KEYSET_SORT order, selected straight into response DTOs.
+     */
+    Window<ReleaseResponseDTO> findWindowAfter(Specification<Release> specification, ReleaseCursor after, int size);
+
+    /**
+     * Row count as last estimated by the planner (pg_class.reltuples), or -1 when the
+     * table has not been analyzed yet.
+     */
+    long estimateCount();
+
+    /**
+     * Forward-only stream backed by a server-side cursor; rows are fetched in chunks of
+     * the configured fetch size as response DTOs, so nothing accumulates in the
+     * persistence context. Must be consumed inside a transaction and closed by the caller.
+     */
+    Stream<ReleaseResponseDTO> streamAll(Specification<Release> specification, Sort sort);
+
+    /**
+     * Most releases one upsertAll call can write: PostgreSQL accepts at most 65535 bind
+     * parameters per statement, and each row binds 7, as Hibernate binds its two uses of
+     * the shared timestamp separately.
+     */
+    int MAX_UPSERT_SIZE = 65_535 / 7;
+
+    /**
+     * Writes all releases with one multi-row INSERT ... ON CONFLICT (name) statement, either
+     * skipping or updating rows whose name is taken. Ids are drawn from release_seq in blocks
+     * of the entity's allocation size, so they never collide with ids Hibernate hands out.
+     * Returns the rows written with the status each had before, read from the statement's
+     * snapshot; names skipped on conflict are absent. Names must be unique within the list.
+     */
+    List<ImportedRow> upsertAll(List<Release> releases, boolean updateExisting);
+
+    /**
+     * Inserts the release with one INSERT ... ON CONFLICT (name) DO NOTHING statement that
+     * also returns the existing row when the name is taken. The id is drawn from release_seq
+     * with nextval in the same statement, so no extra round trip is needed; a taken name
+     * still consumes a sequence value.
+     */
+    CreateOutcome insertIfAbsent(Release release);
+
+    /**
+     * Applies the non-null fields of changes to one release with a single UPDATE ... RETURNING
+     * statement, bumping its version, without loading the entity first. When expectedVersions
+     * is not null the row is only written if its version is one of them, so an empty collection
+     * never matches. Empty when no release has the id.
+     */
+    Optional<ConditionalUpdate> updateIfVersion(Long id, Release changes, Collection<Long> expectedVersions);
+
+    /**
+     * Deletes one release with a single DELETE statement, without loading the entity first.
+     * When expectedVersions is not null the row is only deleted if its version is one of them.
+     * Empty when no release has the id.
+     */
+    Optional<ConditionalDelete> deleteIfVersion(Long id, Collection<Long> expectedVersions);
+
+    /**
+     * Deletes the releases with one DELETE ... RETURNING statement and returns the rows as
+     * they were; ids without a release are absent.
+     */
+    List<Release> deleteAllReturning(Collection<Long> ids);
+
+    /**
+     * Moves every release in fromStatus that matches the filter to toStatus with one set-based
+     * UPDATE ... RETURNING statement, bumping each version. Returns the rows before and after,
+     * ordered by id.
+     */
+    List<ConditionalUpdate> transitionStatus(Status fromStatus,
+                                             Status toStatus,
+                                             String name,
+                                             String description,
+                                             LocalDate releaseDate);
+
+    /**
+     * Trigram search over name and description, best matches first. Uses the
+     * pg_trgm GIN indexes for both the substring (ILIKE) and the fuzzy word match.
+     */
+    List<ScoredRelease> search(String text, int limit);
+}
@@ -0,0 +1,457 @@
+package com.neon.releasetracker.repository;
+
+import com.neon.releasetracker.dto.ReleaseCursor;
+import com.neon.releasetracker.dto.ReleaseResponseDTO;
+import com.neon.releasetracker.entity.Release;
+import com.neon.releasetracker.enums.Status;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.stream.Stream;
+
+public class ReleaseRepositoryCustomImpl implements ReleaseRepositoryCustom {
+    private static final String SEARCH_QUERY = """
+            SELECT {r.*},
+                   GREATEST(word_similarity(:text, r.name), word_similarity(:text, r.description)) AS score
+            FROM release r
+            WHERE r.name ILIKE :pattern
+               OR r.description ILIKE :pattern
+               OR :text <% r.name
+               OR :text <% r.description
+            ORDER BY score DESC, r.id DESC
+            LIMIT :limit
+            """;
+    private static final String ALLOCATE_IDS_QUERY = """
+            SELECT id
+            FROM (SELECT nextval('%1$s') AS hi FROM generate_series(1, :blocks)) block
+            CROSS JOIN LATERAL generate_series(GREATEST(block.hi - %2$d + 1, 1), block.hi) AS id
+            ORDER BY id
+            """.formatted(Release.ID_SEQUENCE, Release.ID_ALLOCATION_SIZE);
+    private static final String UPSERT_QUERY = """
+            INSERT INTO release (id, name, description, status, release_date, created_at, last_update_at)
+            VALUES %s
+            ON CONFLICT (name) %s
+            RETURNING id, name, (xmax = 0) AS inserted, status, last_update_at,
+                      (SELECT previous.status FROM release previous WHERE previous.id = release.id) AS previous_status
+            """;
+    private static final String ON_CONFLICT_UPDATE = "DO UPDATE SET description = EXCLUDED.description, " +
+            "status = EXCLUDED.status, release_date = EXCLUDED.release_date, last_update_at = EXCLUDED.last_update_at, " +
+            "version = release.version + 1";
+    private static final String ON_CONFLICT_SKIP = "DO NOTHING";
+    // nextval reserves a whole block of the pooled sequence, so the id it returns can never
+    // be one that Hibernate hands out from a block of its own
+    private static final String INSERT_IF_ABSENT_QUERY = """
+            WITH inserted AS (
+                INSERT INTO release (id, name, description, status, release_date, created_at, last_update_at, version)
+                VALUES (nextval('%s'), :name, :description, :status, :releaseDate, :now, :now, 0)
+                ON CONFLICT (name) DO NOTHING
+                RETURNING id, name, description, status, release_date, created_at, last_update_at, version, TRUE AS created
+            )
+            SELECT * FROM inserted
+            UNION ALL
+            SELECT id, name, description, status, release_date, created_at, last_update_at, version, FALSE
+            FROM release
+            WHERE name = :name AND NOT EXISTS (SELECT 1 FROM inserted)
+            """.formatted(Release.ID_SEQUENCE);
+    // the locked row is returned whether or not the version matched, so a miss needs no second query
+    private static final String CONDITIONAL_UPDATE_QUERY = """
+            WITH current_row AS (
+                SELECT * FROM release WHERE id = :id FOR UPDATE
+            ), updated_row AS (
+                UPDATE release r
+                SET name = COALESCE(:name, r.name),
+                    description = COALESCE(:description, r.description),
+                    status = COALESCE(:status, r.status),
+                    release_date = COALESCE(:releaseDate, r.release_date),
+                    last_update_at = :now,
+                    version = r.version + 1
+                FROM current_row c
+                WHERE r.id = c.id AND (CAST(:anyVersion AS BOOLEAN) OR c.version = ANY(CAST(:expectedVersions AS BIGINT[])))
+                RETURNING r.*
+            )
+            SELECT c.id, c.name, c.description, c.status, c.release_date, c.created_at, c.last_update_at, c.version,
+                   u.name AS new_name, u.description AS new_description, u.status AS new_status,
+                   u.release_date AS new_release_date, u.last_update_at AS new_last_update_at, u.version AS new_version
+            FROM current_row c
+            LEFT JOIN updated_row u ON u.id = c.id
+            """;
+    private static final String CONDITIONAL_DELETE_QUERY = """
+            WITH current_row AS (
+                SELECT * FROM release WHERE id = :id FOR UPDATE
+            ), deleted_row AS (
+                DELETE FROM release r
+                USING current_row c
+                WHERE r.id = c.id AND (CAST(:anyVersion AS BOOLEAN) OR c.version = ANY(CAST(:expectedVersions AS BIGINT[])))
+                RETURNING r.id
+            )
+            SELECT c.id, c.name, c.description, c.status, c.release_date, c.created_at, c.last_update_at, c.version,
+                   (d.id IS NOT NULL) AS deleted
+            FROM current_row c
+            LEFT JOIN deleted_row d ON d.id = c.id
+            """;
+    private static final String DELETE_ALL_QUERY = """
+            DELETE FROM release
+            WHERE id IN (:ids)
+            RETURNING id, name, description, status, release_date, created_at, last_update_at, version
+            """;
+    // rows are locked in id order so two overlapping transitions cannot deadlock; the
+    // filter mirrors ReleaseSpecification.filterByParam
+    private static final String TRANSITION_STATUS_QUERY = """
+            WITH matched AS (
+                SELECT id, last_update_at
+                FROM release
+                WHERE status = :fromStatus
+                  AND (CAST(:name AS TEXT) IS NULL OR name LIKE '%' || CAST(:name AS TEXT) || '%')
+                  AND (CAST(:description AS TEXT) IS NULL OR description LIKE '%' || CAST(:description AS TEXT) || '%')
+                  AND (CAST(:releaseDate AS DATE) IS NULL OR release_date = CAST(:releaseDate AS DATE))
+                ORDER BY id
+                FOR UPDATE
+            )
+            UPDATE release r
+            SET status = :toStatus,
+                last_update_at = :now,
+                version = r.version + 1
+            FROM matched m
+            WHERE r.id = m.id
+            RETURNING r.id, r.name, r.description, r.status, r.release_date, r.created_at, r.last_update_at, r.version,
+                      m.last_update_at AS previous_last_update_at
+            """;
+    private static final int STREAM_FETCH_SIZE = 500;
+    private static final String ID = "id";
+    private static final String RELEASE_DATE = "releaseDate";
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<ReleaseResponseDTO> findSlice(Specification<Release> specification, Pageable pageable) {
+        var criteriaBuilder = entityManager.getCriteriaBuilder();
+        var query = criteriaBuilder.createQuery(ReleaseResponseDTO.class);
+        var root = query.from(Release.class);
+        query.select(responseOf(criteriaBuilder, root));
+
+        var predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if(predicate != null)
+            query.where(predicate);
+        if(pageable.getSort().isSorted())
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+
+        var typedQuery = entityManager.createQuery(query);
+        if(pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize() + 1);
+        }
+
+        List<ReleaseResponseDTO> content = typedQuery.getResultList();
+        boolean hasNext = pageable.isPaged() && content.size() > pageable.getPageSize();
+        if(hasNext)
+            content = content.subList(0, pageable.getPageSize());
+
+        return new SliceImpl<>(List.copyOf(content), pageable, hasNext);
+    }
+
+    @Override
+    public Window<ReleaseResponseDTO> findWindowAfter(Specification<Release> specification, ReleaseCursor after, int size) {
+        var criteriaBuilder = entityManager.getCriteriaBuilder();
+        var query = criteriaBuilder.createQuery(ReleaseResponseDTO.class);
+        var root = query.from(Release.class);
+        query.select(responseOf(criteriaBuilder, root));
+
+        var predicates = new ArrayList<Predicate>();
+        var predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if(predicate != null)
+            predicates.add(predicate);
+        if(after != null) {
+            // (releaseDate, id) < (after.releaseDate, after.id) in KEYSET_SORT order
+            Path<LocalDate> releaseDate = root.get(RELEASE_DATE);
+            Path<Long> id = root.get(ID);
+            predicates.add(criteriaBuilder.or(
+                    criteriaBuilder.lessThan(releaseDate, after.releaseDate()),
+                    criteriaBuilder.and(
+                            criteriaBuilder.equal(releaseDate, after.releaseDate()),
+                            criteriaBuilder.lessThan(id, after.id()))));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(QueryUtils.toOrders(ReleaseCursor.KEYSET_SORT, root, criteriaBuilder));
+
+        List<ReleaseResponseDTO> content = entityManager.createQuery(query)
+                .setMaxResults(size + 1)
+                .getResultList();
+        boolean hasNext = content.size() > size;
+        var page = List.copyOf(hasNext ? content.subList(0, size) : content);
+
+        return Window.from(page, index -> new ReleaseCursor(page.get(index).releaseDate(), page.get(index).id()).toScrollPosition(), hasNext);
+    }
+
+    @Override
+    public Stream<ReleaseResponseDTO> streamAll(Specification<Release> specification, Sort sort) {
+        var criteriaBuilder = entityManager.getCriteriaBuilder();
+        var query = criteriaBuilder.createQuery(ReleaseResponseDTO.class);
+        var root = query.from(Release.class);
+        query.select(responseOf(criteriaBuilder, root));
+
+        var predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if(predicate != null)
+            query.where(predicate);
+        if(sort.isSorted())
+            query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    /**
+     * Selects the response columns straight into ReleaseResponseDTO, so no entity is
+     * hydrated or added to the persistence context.
+     */
+    private static CompoundSelection<ReleaseResponseDTO> responseOf(CriteriaBuilder criteriaBuilder, Root<Release> root) {
+        return criteriaBuilder.construct(ReleaseResponseDTO.class,
+                root.get(ID),
+                root.get("name"),
+                root.get("description"),
+                root.get("status"),
+                root.get(RELEASE_DATE),
+                root.get("createdAt"),
+                root.get("lastUpdatedAt"));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ImportedRow> upsertAll(List<Release> releases, boolean updateExisting) {
+        if(releases.isEmpty())
+            return List.of();
+
+        var ids = allocateIds(releases.size());
+        var values = new StringJoiner(", ");
+        for(int i = 0; i < releases.size(); i++)
+            values.add("(:id%1$d, :name%1$d, :description%1$d, :status%1$d, :releaseDate%1$d, :now, :now)".formatted(i));
+
+        var query = entityManager.createNativeQuery(UPSERT_QUERY.formatted(values, updateExisting ? ON_CONFLICT_UPDATE : ON_CONFLICT_SKIP))
+                .unwrap(NativeQuery.class)
+                .addScalar("id", StandardBasicTypes.LONG)
+                .addScalar("name", StandardBasicTypes.STRING)
+                .addScalar("inserted", StandardBasicTypes.BOOLEAN)
+                .addScalar("status", StandardBasicTypes.STRING)
+                .addScalar("last_update_at", StandardBasicTypes.LOCAL_DATE_TIME)
+                .addScalar("previous_status", StandardBasicTypes.STRING)
+                .setParameter("now", LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        for(int i = 0; i < releases.size(); i++) {
+            var release = releases.get(i);
+            query.setParameter("id" + i, ids.get(i))
+                    .setParameter("name" + i, release.getName())
+                    .setParameter("description" + i, release.getDescription())
+                    .setParameter("status" + i, release.getStatus().name())
+                    .setParameter("releaseDate" + i, release.getReleaseDate());
+        }
+
+        List<Object[]> rows = query.getResultList();
+        return rows.stream()
+                .map(row -> new ImportedRow((Long) row[0], (String) row[1], (Boolean) row[2],
+                        row[5] != null ? Status.valueOf((String) row[5]) : null,
+                        Status.valueOf((String) row[3]), (LocalDateTime) row[4]))
+                .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> allocateIds(int count) {
+        var ids = new ArrayList<Long>(count);
+        while (ids.size() < count) {
+            int blocks = (count - ids.size() + Release.ID_ALLOCATION_SIZE - 1) / Release.ID_ALLOCATION_SIZE;
+            List<Number> allocated = entityManager.createNativeQuery(ALLOCATE_IDS_QUERY)
+                    .setParameter("blocks", blocks)
+                    .getResultList();
+            allocated.forEach(id -> ids.add(id.longValue()));
+        }
+        return ids.subList(0, count);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public CreateOutcome insertIfAbsent(Release release) {
+        List<Object[]> rows = withReleaseScalars(entityManager.createNativeQuery(INSERT_IF_ABSENT_QUERY).unwrap(NativeQuery.class))
+                .addScalar("created", StandardBasicTypes.BOOLEAN)
+                .setParameter("name", release.getName())
+                .setParameter("description", release.getDescription())
+                .setParameter("status", release.getStatus().name())
+                .setParameter("releaseDate", release.getReleaseDate())
+                .setParameter("now", LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS))
+                .getResultList();
+
+        if(rows.isEmpty())
+            return new CreateOutcome(null, false);
+        var row = rows.get(0);
+        return new CreateOutcome(toRelease(row), (Boolean) row[8]);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<ConditionalUpdate> updateIfVersion(Long id, Release changes, Collection<Long> expectedVersions) {
+        var query = withReleaseScalars(entityManager.createNativeQuery(CONDITIONAL_UPDATE_QUERY).unwrap(NativeQuery.class))
+                .addScalar("new_name", StandardBasicTypes.STRING)
+                .addScalar("new_description", StandardBasicTypes.STRING)
+                .addScalar("new_status", StandardBasicTypes.STRING)
+                .addScalar("new_release_date", StandardBasicTypes.LOCAL_DATE)
+                .addScalar("new_last_update_at", StandardBasicTypes.LOCAL_DATE_TIME)
+                .addScalar("new_version", StandardBasicTypes.LONG)
+                .setParameter("id", id)
+                .setParameter("name", changes.getName(), StandardBasicTypes.STRING)
+                .setParameter("description", changes.getDescription(), StandardBasicTypes.STRING)
+                .setParameter("status", changes.getStatus() != null ? changes.getStatus().name() : null, StandardBasicTypes.STRING)
+                .setParameter("releaseDate", changes.getReleaseDate(), StandardBasicTypes.LOCAL_DATE)
+                .setParameter("now", LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS))
+                .setParameter("anyVersion", expectedVersions == null, StandardBasicTypes.BOOLEAN)
+                .setParameter("expectedVersions", versionArray(expectedVersions));
+
+        List<Object[]> rows = query.getResultList();
+        return rows.stream().findFirst().map(row -> {
+            var current = toRelease(row);
+            if(row[13] == null)
+                return new ConditionalUpdate(current, null);
+            var updated = new Release(current.getId(), (String) row[8], (String) row[9], Status.valueOf((String) row[10]),
+                    (LocalDate) row[11], current.getCreatedAt(), (LocalDateTime) row[12]);
+            updated.setVersion((Long) row[13]);
+            return new ConditionalUpdate(current, updated);
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<ConditionalDelete> deleteIfVersion(Long id, Collection<Long> expectedVersions) {
+        List<Object[]> rows = withReleaseScalars(entityManager.createNativeQuery(CONDITIONAL_DELETE_QUERY).unwrap(NativeQuery.class))
+                .addScalar("deleted", StandardBasicTypes.BOOLEAN)
+                .setParameter("id", id)
+                .setParameter("anyVersion", expectedVersions == null, StandardBasicTypes.BOOLEAN)
+                .setParameter("expectedVersions", versionArray(expectedVersions))
+                .getResultList();
+
+        return rows.stream().findFirst().map(row -> new ConditionalDelete(toRelease(row), (Boolean) row[8]));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Release> deleteAllReturning(Collection<Long> ids) {
+        if(ids.isEmpty())
+            return List.of();
+
+        List<Object[]> rows = withReleaseScalars(entityManager.createNativeQuery(DELETE_ALL_QUERY).unwrap(NativeQuery.class))
+                .setParameterList("ids", ids, StandardBasicTypes.LONG)
+                .getResultList();
+        return rows.stream()
+                .map(ReleaseRepositoryCustomImpl::toRelease)
+                .toList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ConditionalUpdate> transitionStatus(Status fromStatus,
+                                                    Status toStatus,
+                                                    String name,
+                                                    String description,
+                                                    LocalDate releaseDate) {
+        List<Object[]> rows = withReleaseScalars(entityManager.createNativeQuery(TRANSITION_STATUS_QUERY).unwrap(NativeQuery.class))
+                .addScalar("previous_last_update_at", StandardBasicTypes.LOCAL_DATE_TIME)
+                .setParameter("fromStatus", fromStatus.name())
+                .setParameter("toStatus", toStatus.name())
+                .setParameter("name", name, StandardBasicTypes.STRING)
+                .setParameter("description", description, StandardBasicTypes.STRING)
+                .setParameter("releaseDate", releaseDate, StandardBasicTypes.LOCAL_DATE)
+                .setParameter("now", LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS))
+                .getResultList();
+
+        return rows.stream()
+                .map(row -> {
+                    var updated = toRelease(row);
+                    var current = new Release(updated.getId(), updated.getName(), updated.getDescription(), fromStatus,
+                            updated.getReleaseDate(), updated.getCreatedAt(), (LocalDateTime) row[8]);
+                    current.setVersion(updated.getVersion() - 1);
+                    return new ConditionalUpdate(current, updated);
+                })
+                .sorted(Comparator.comparing(update -> update.current().getId()))
+                .toList();
+    }
+
+    /**
+     * Registers the release columns in the order toRelease reads them.
+     */
+    private static NativeQuery<Object[]> withReleaseScalars(NativeQuery<Object[]> query) {
+        return query
+                .addScalar("id", StandardBasicTypes.LONG)
+                .addScalar("name", StandardBasicTypes.STRING)
+                .addScalar("description", StandardBasicTypes.STRING)
+                .addScalar("status", StandardBasicTypes.STRING)
+                .addScalar("release_date", StandardBasicTypes.LOCAL_DATE)
+                .addScalar("created_at", StandardBasicTypes.LOCAL_DATE_TIME)
+                .addScalar("last_update_at", StandardBasicTypes.LOCAL_DATE_TIME)
+                .addScalar("version", StandardBasicTypes.LONG);
+    }
+
+    private static Release toRelease(Object[] row) {
+        var release = new Release((Long) row[0], (String) row[1], (String) row[2], Status.valueOf((String) row[3]),
+                (LocalDate) row[4], (LocalDateTime) row[5], (LocalDateTime) row[6]);
+        release.setVersion((Long) row[7]);
+        return release;
+    }
+
+    /**
+     * Expected versions bound as one BIGINT[] parameter; empty when any version is accepted,
+     * which the anyVersion parameter then says.
+     */
+    private static Long[] versionArray(Collection<Long> expectedVersions) {
+        return expectedVersions == null ? new Long[0] : expectedVersions.toArray(Long[]::new);
+    }
+
+    @Override
+    public long estimateCount() {
+        var estimate = (Number) entityManager
+                .createNativeQuery("SELECT reltuples FROM pg_class WHERE oid = to_regclass('release')")
+                .getResultStream()
+                .findFirst()
+                .orElse(-1);
+        return estimate.longValue();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ScoredRelease> search(String text, int limit) {
+        List<Object[]> rows = entityManager.createNativeQuery(SEARCH_QUERY)
+                .unwrap(NativeQuery.class)
+                .addEntity("r", Release.class)
+                .addScalar("score", StandardBasicTypes.DOUBLE)
+                .setParameter("text", text)
+                .setParameter("pattern", "%" + escapeLike(text) + "%")
+                .setParameter("limit", limit)
+                .getResultList();
+
+        return rows.stream()
+                .map(row -> new ScoredRelease((Release) row[0], (Double) row[1]))
+                .toList();
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,36 @@
+package com.neon.releasetracker.repository;
+
+import com.neon.releasetracker.entity.ReleaseStatusChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ReleaseStatusChangeRepository extends JpaRepository<ReleaseStatusChange, Long> {
+
+    @Query("SELECT c FROM ReleaseStatusChange c WHERE c.releaseId = :releaseId ORDER BY c.changedAt, c.id")
+    List<ReleaseStatusChange> findTimeline(@Param("releaseId") Long releaseId);
+
+    /**
+     * Time spent in each status, over the stays that ended (the release moved on) and
+     * began at or after since. A stay lasts until the release's next transition.
+     */
+    @Query(nativeQuery = true, value = """
+            SELECT to_status AS status,
+                   COUNT(*) AS stays,
+                   AVG(dwell) AS averageSeconds,
+                   percentile_cont(0.5) WITHIN GROUP (ORDER BY dwell) AS medianSeconds,
+                   percentile_cont(0.9) WITHIN GROUP (ORDER BY dwell) AS p90Seconds,
+                   MAX(dwell) AS maxSeconds
+            FROM (SELECT to_status, changed_at,
+                         EXTRACT(EPOCH FROM LEAD(changed_at) OVER (PARTITION BY release_id ORDER BY changed_at, id) - changed_at) AS dwell
+                  FROM release_status_history) stay
+            WHERE dwell IS NOT NULL AND changed_at >= :since
+            GROUP BY to_status
+            """)
+    List<StageDwellTimeView> findStageDwellTimes(@Param("since") LocalDateTime since);
+}
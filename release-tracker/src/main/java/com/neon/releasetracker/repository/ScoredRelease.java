@@ -0,0 +1,6 @@
+package com.neon.releasetracker.repository;
+
+import com.neon.releasetracker.entity.Release;
+
+public record ScoredRelease(Release release, double score) {
+}
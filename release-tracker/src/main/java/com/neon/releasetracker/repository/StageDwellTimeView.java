@@ -0,0 +1,15 @@
+package com.neon.releasetracker.repository;
+
+public interface StageDwellTimeView {
+    String getStatus();
+
+    long getStays();
+
+    double getAverageSeconds();
+
+    double getMedianSeconds();
+
+    double getP90Seconds();
+
+    double getMaxSeconds();
+}
@@ -0,0 +1,26 @@
+package com.neon.releasetracker.service;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+final class ConstraintViolations {
+
+    private ConstraintViolations() {
+    }
+
+    /**
+     * Validates the target and joins all violations into one message, or returns null when it is valid.
+     */
+    static String describe(Validator validator, Object target, Class<?>... groups) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(target, groups);
+        if(violations.isEmpty())
+            return null;
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+}
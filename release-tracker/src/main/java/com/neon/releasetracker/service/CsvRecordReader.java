@@ -0,0 +1,91 @@
+package com.neon.releasetracker.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 records one at a time: comma separated, optionally double-quoted fields
+ * that may contain commas, doubled quotes and line breaks; CRLF or LF line endings.
+ */
+final class CsvRecordReader {
+    private static final int NONE = -2;
+    private final Reader reader;
+    private int pushedBack = NONE;
+    private long line = 1;
+    private long recordLine;
+
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Returns the next record, or null at the end of the input.
+     */
+    List<String> next() throws IOException {
+        int c = read();
+        if(c == -1)
+            return null;
+
+        recordLine = line;
+        var fields = new ArrayList<String>();
+        var field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if(quoted) {
+                if(c == '"') {
+                    int next = read();
+                    if(next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else if(c == -1) {
+                    quoted = false;
+                    continue;
+                } else {
+                    field.append((char) c);
+                }
+            } else if(c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if(c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if(c == '\n' || c == '\r' || c == -1) {
+                if(c == '\r') {
+                    int next = read();
+                    if(next != '\n')
+                        pushedBack = next;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Line on which the record last returned by {@link #next()} starts.
+     */
+    long recordLine() {
+        return recordLine;
+    }
+
+    private int read() throws IOException {
+        int c;
+        if(pushedBack != NONE) {
+            c = pushedBack;
+            pushedBack = NONE;
+        } else {
+            c = reader.read();
+            if(c == '\n')
+                line++;
+        }
+        return c;
+    }
+}
@@ -0,0 +1,247 @@
+package com.neon.releasetracker.service;
+
+import com.neon.releasetracker.dto.BatchItemResultDTO;
+import com.neon.releasetracker.dto.BatchResultDTO;
+import com.neon.releasetracker.dto.ReleaseBatchUpdateDTO;
+import com.neon.releasetracker.dto.ReleaseRequestDTO;
+import com.neon.releasetracker.dto.UpdateDtoGroup;
+import com.neon.releasetracker.entity.Release;
+import com.neon.releasetracker.enums.BatchItemStatus;
+import com.neon.releasetracker.event.ReleaseChange;
+import com.neon.releasetracker.event.ReleaseChangedEvent;
+import com.neon.releasetracker.repository.ReleaseNameView;
+import com.neon.releasetracker.repository.ReleaseRepository;
+import jakarta.transaction.Transactional;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Create, update and delete many releases in one transaction. Every item is validated
+ * and checked for name conflicts up front, with one query per batch; the remaining items
+ * are written with JDBC batching (hibernate.jdbc.batch_size) and reported per item.
+ * <p>
+ * A name taken by another transaction after the check only shows up as a unique
+ * constraint violation on flush. The batch is then rolled back and run once more, so the
+ * item is reported as FAILED; a second violation is answered with 409.
+ */
+@Service
+public class ReleaseBatchService {
+    private static final Logger logger = LoggerFactory.getLogger((ReleaseBatchService.class));
+    private static final int WRITE_ATTEMPTS = 2;
+    @Value("${logging.applogs.enable}")
+    private boolean enableAppLogs;
+    private final ReleaseRepository releaseRepository;
+    private final ReleaseService releaseService;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public ReleaseBatchService(ReleaseRepository releaseRepository,
+                               ReleaseService releaseService,
+                               Validator validator,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager) {
+        this.releaseRepository = releaseRepository;
+        this.releaseService = releaseService;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public BatchResultDTO createReleases(List<ReleaseRequestDTO> requests) {
+        if(enableAppLogs)
+            logger.info("Creating batch of {} releases", requests.size());
+        return writeCheckingNamesAgainOnConflict(() -> create(requests));
+    }
+
+    private BatchResultDTO create(List<ReleaseRequestDTO> requests) {
+        var results = new ArrayList<BatchItemResultDTO>();
+        var candidates = new LinkedHashMap<Integer, Release>();
+        var namesInBatch = new HashSet<String>();
+        for(int index = 0; index < requests.size(); index++) {
+            var request = requests.get(index);
+            var violations = validate(request);
+            if(violations == null) {
+                var release = releaseService.mapToEntity(request);
+                violations = validate(release);
+                if(violations == null && !namesInBatch.add(release.getName()))
+                    violations = "Duplicate name in batch:" + release.getName();
+                if(violations == null)
+                    candidates.put(index, release);
+            }
+            if(violations != null)
+                results.add(BatchItemResultDTO.failed(index, null, violations));
+        }
+
+        var existingNames = findExistingNames(candidates.values().stream().map(Release::getName).toList());
+        candidates.entrySet().removeIf(candidate -> {
+            var name = candidate.getValue().getName();
+            if(!existingNames.containsKey(name))
+                return false;
+            results.add(BatchItemResultDTO.failed(candidate.getKey(), null, "Release already exists with the name:" + name));
+            return true;
+        });
+
+        var saved = releaseRepository.saveAll(candidates.values());
+        releaseRepository.flush();
+
+        var changes = new ArrayList<ReleaseChange>();
+        int position = 0;
+        for(var index : candidates.keySet()) {
+            var release = saved.get(position++);
+            results.add(new BatchItemResultDTO(index, release.getId(), BatchItemStatus.CREATED, null));
+            changes.add(ReleaseChange.created(release));
+        }
+        publish(changes);
+        return BatchResultDTO.of(results);
+    }
+
+    public BatchResultDTO updateReleases(List<ReleaseBatchUpdateDTO> requests) {
+        if(enableAppLogs)
+            logger.info("Updating batch of {} releases", requests.size());
+        return writeCheckingNamesAgainOnConflict(() -> update(requests));
+    }
+
+    private BatchResultDTO update(List<ReleaseBatchUpdateDTO> requests) {
+        var results = new ArrayList<BatchItemResultDTO>();
+        var candidates = new LinkedHashMap<Integer, ReleaseBatchUpdateDTO>();
+        var idsInBatch = new HashSet<Long>();
+        for(int index = 0; index < requests.size(); index++) {
+            var request = requests.get(index);
+            var violations = validate(request, UpdateDtoGroup.class);
+            if(violations == null)
+                violations = validate(request.toRequestDTO(), UpdateDtoGroup.class);
+            if(violations == null && !idsInBatch.add(request.id()))
+                violations = "Duplicate id in batch:" + request.id();
+            if(violations == null)
+                candidates.put(index, request);
+            else
+                results.add(BatchItemResultDTO.failed(index, request.id(), violations));
+        }
+
+        var existing = releaseRepository.findAllById(idsInBatch).stream()
+                .collect(Collectors.toMap(Release::getId, Function.identity()));
+        var renamedTo = new HashMap<String, Long>();
+        candidates.entrySet().removeIf(candidate -> {
+            var request = candidate.getValue();
+            String violation = null;
+            if(!existing.containsKey(request.id()))
+                violation = "Release not found with id:" + request.id();
+            else if(request.name() != null && renamedTo.putIfAbsent(request.name(), request.id()) != null)
+                violation = "Duplicate name in batch:" + request.name();
+            if(violation == null)
+                return false;
+            results.add(BatchItemResultDTO.failed(candidate.getKey(), request.id(), violation));
+            return true;
+        });
+
+        var existingNames = findExistingNames(renamedTo.keySet());
+        var changes = new ArrayList<ReleaseChange>();
+        for(var candidate : candidates.entrySet()) {
+            var request = candidate.getValue();
+            var ownerId = request.name() != null ? existingNames.get(request.name()) : null;
+            if(ownerId != null && !ownerId.equals(request.id())) {
+                results.add(BatchItemResultDTO.failed(candidate.getKey(), request.id(), "Release already exists with the name:" + request.name()));
+                continue;
+            }
+
+            var release = existing.get(request.id());
+            var previousRelease = releaseService.copyOf(release);
+            var violations = validate(applyUpdate(releaseService.copyOf(release), request));
+            if(violations != null) {
+                results.add(BatchItemResultDTO.failed(candidate.getKey(), request.id(), violations));
+                continue;
+            }
+
+            applyUpdate(release, request);
+            results.add(new BatchItemResultDTO(candidate.getKey(), release.getId(), BatchItemStatus.UPDATED, null));
+            changes.add(ReleaseChange.updated(previousRelease, release));
+        }
+
+        releaseRepository.flush();
+        publish(changes);
+        return BatchResultDTO.of(results);
+    }
+
+    @Transactional
+    public BatchResultDTO deleteReleases(List<Long> ids) {
+        if(enableAppLogs)
+            logger.info("Deleting batch of {} releases", ids.size());
+
+        var deleted = releaseRepository.deleteAllReturning(ids.stream().filter(Objects::nonNull).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Release::getId, Function.identity()));
+
+        var results = new ArrayList<BatchItemResultDTO>();
+        var reported = new HashSet<Long>();
+        for(int index = 0; index < ids.size(); index++) {
+            var id = ids.get(index);
+            if(id == null)
+                results.add(BatchItemResultDTO.failed(index, null, "Id is required"));
+            else if(!reported.add(id))
+                results.add(BatchItemResultDTO.failed(index, id, "Duplicate id in batch:" + id));
+            else if(!deleted.containsKey(id))
+                results.add(BatchItemResultDTO.failed(index, id, "Release not found with id:" + id));
+            else
+                results.add(new BatchItemResultDTO(index, id, BatchItemStatus.DELETED, null));
+        }
+
+        publish(deleted.values().stream().map(ReleaseChange::deleted).toList());
+        return BatchResultDTO.of(results);
+    }
+
+    private BatchResultDTO writeCheckingNamesAgainOnConflict(Supplier<BatchResultDTO> batch) {
+        for(int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> batch.get());
+            } catch (DataIntegrityViolationException e) {
+                if(attempt == WRITE_ATTEMPTS)
+                    throw e;
+                logger.info("Batch conflicted with a concurrent write, checking names again: {}",
+                        e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    private static Release applyUpdate(Release release, ReleaseBatchUpdateDTO request) {
+        if(request.name() != null) release.setName(request.name());
+        if(request.description() != null) release.setDescription(request.description());
+        if(request.status() != null) release.setStatus(request.status());
+        if(request.releaseDate() != null) release.setReleaseDate(request.releaseDate());
+        return release;
+    }
+
+    private Map<String, Long> findExistingNames(Collection<String> names) {
+        if(names.isEmpty())
+            return Map.of();
+        return releaseRepository.findNamesIn(names).stream()
+                .collect(Collectors.toMap(ReleaseNameView::getName, ReleaseNameView::getId));
+    }
+
+    private String validate(Object target, Class<?>... groups) {
+        return ConstraintViolations.describe(validator, target, groups);
+    }
+
+    private void publish(List<ReleaseChange> changes) {
+        if(!changes.isEmpty())
+            eventPublisher.publishEvent(new ReleaseChangedEvent(changes));
+    }
+}
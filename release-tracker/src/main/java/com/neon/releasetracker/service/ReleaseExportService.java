@@ -0,0 +1,121 @@
+package com.neon.releasetracker.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neon.releasetracker.dto.ReleaseResponseDTO;
+import com.neon.releasetracker.enums.ReleaseFileFormat;
+import com.neon.releasetracker.enums.Status;
+import com.neon.releasetracker.repository.ReleaseRepository;
+import com.neon.releasetracker.repository.ReleaseSpecification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+
+/**
+ * Writes the release catalog to an output stream row by row. Rows come from a
+ * server-side cursor as response DTOs that are never attached to the persistence
+ * context, so memory stays flat no matter how many releases match; output is flushed
+ * every {@value #FLUSH_EVERY} rows.
+ */
+@Service
+public class ReleaseExportService {
+    private static final Logger logger = LoggerFactory.getLogger((ReleaseExportService.class));
+    private static final Sort EXPORT_SORT = Sort.by(Sort.Direction.ASC, "id");
+    private static final int FLUSH_EVERY = 500;
+    private static final String CSV_HEADER = "id,name,description,status,releaseDate,createdAt,lastUpdateAt";
+    @Value("${logging.applogs.enable}")
+    private boolean enableAppLogs;
+    private final ReleaseRepository releaseRepository;
+    private final ObjectMapper objectMapper;
+
+    public ReleaseExportService(ReleaseRepository releaseRepository, ObjectMapper objectMapper) {
+        this.releaseRepository = releaseRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public long exportReleases(Status status,
+                               String name,
+                               String description,
+                               LocalDate releaseDate,
+                               ReleaseFileFormat format,
+                               OutputStream out) throws IOException {
+        var specification = ReleaseSpecification.filterByParam(status, name, description, releaseDate);
+        long exported;
+        try (var releases = releaseRepository.streamAll(specification, EXPORT_SORT)) {
+            var iterator = releases.iterator();
+            exported = switch (format) {
+                case NDJSON -> writeNdjson(iterator, out);
+                case CSV -> writeCsv(iterator, out);
+            };
+        }
+
+        if(enableAppLogs)
+            logger.info("Exported {} releases as {}", exported, format);
+        return exported;
+    }
+
+    private long writeNdjson(Iterator<ReleaseResponseDTO> releases, OutputStream out) throws IOException {
+        long count = 0;
+        try (var generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (releases.hasNext()) {
+                generator.writeObject(releases.next());
+                generator.writeRaw('\n');
+                if(++count % FLUSH_EVERY == 0)
+                    generator.flush();
+            }
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<ReleaseResponseDTO> releases, OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        while (releases.hasNext()) {
+            var release = releases.next();
+            writer.write(String.valueOf(release.id()));
+            writer.write(',');
+            writer.write(csvField(release.name()));
+            writer.write(',');
+            writer.write(csvField(release.description()));
+            writer.write(',');
+            writer.write(csvField(release.status()));
+            writer.write(',');
+            writer.write(csvField(release.releaseDate()));
+            writer.write(',');
+            writer.write(csvField(release.createdAt()));
+            writer.write(',');
+            writer.write(csvField(release.lastUpdateAt()));
+            writer.write("\r\n");
+            if(++count % FLUSH_EVERY == 0)
+                writer.flush();
+        }
+        writer.flush();
+        return count;
+    }
+
+    static String csvField(Object value) {
+        if(value == null)
+            return "";
+        var text = value.toString();
+        if(text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0)
+            return text;
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
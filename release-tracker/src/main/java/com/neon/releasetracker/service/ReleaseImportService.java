@@ -0,0 +1,219 @@
+package com.neon.releasetracker.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neon.releasetracker.dto.ImportErrorDTO;
+import com.neon.releasetracker.dto.ImportResultDTO;
+import com.neon.releasetracker.dto.ReleaseRequestDTO;
+import com.neon.releasetracker.entity.Release;
+import com.neon.releasetracker.enums.ImportConflictMode;
+import com.neon.releasetracker.enums.ReleaseFileFormat;
+import com.neon.releasetracker.enums.Status;
+import com.neon.releasetracker.event.ReleasesImportedEvent;
+import com.neon.releasetracker.repository.ImportedRow;
+import com.neon.releasetracker.repository.ReleaseRepository;
+import com.neon.releasetracker.repository.ReleaseRepositoryCustom;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Loads releases from an NDJSON or CSV upload. Records are parsed one at a time and
+ * validated like POST /releases; valid ones are written in chunks, each chunk with a
+ * single multi-row INSERT ... ON CONFLICT (name) statement in its own transaction.
+ * Committed chunks stay committed if a later chunk fails.
+ */
+@Service
+public class ReleaseImportService {
+    private static final Logger logger = LoggerFactory.getLogger((ReleaseImportService.class));
+    private static final int MAX_REPORTED_ERRORS = 100;
+    @Value("${logging.applogs.enable}")
+    private boolean enableAppLogs;
+    private final ReleaseRepository releaseRepository;
+    private final ReleaseService releaseService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    public ReleaseImportService(ReleaseRepository releaseRepository,
+                                ReleaseService releaseService,
+                                Validator validator,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${release-tracker.import.chunk-size}") int chunkSize) {
+        this.releaseRepository = releaseRepository;
+        this.releaseService = releaseService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        if(chunkSize < 1 || chunkSize > ReleaseRepositoryCustom.MAX_UPSERT_SIZE)
+            throw new IllegalArgumentException("release-tracker.import.chunk-size must be between 1 and "
+                    + ReleaseRepositoryCustom.MAX_UPSERT_SIZE + " (one statement binds 7 parameters per release), got:" + chunkSize);
+        this.chunkSize = chunkSize;
+    }
+
+    public ImportResultDTO importReleases(InputStream in, ReleaseFileFormat format, ImportConflictMode onConflict) throws IOException {
+        if(enableAppLogs)
+            logger.info("Importing releases from {}, on conflict {}", format, onConflict);
+
+        var progress = new Progress(onConflict == ImportConflictMode.UPDATE);
+        var reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        switch (format) {
+            case NDJSON -> readNdjson(reader, progress);
+            case CSV -> readCsv(reader, progress);
+        }
+        writeChunk(progress);
+
+        if(enableAppLogs)
+            logger.info("Import finished: {} received, {} inserted, {} updated, {} skipped, {} failed",
+                    progress.received, progress.inserted, progress.updated, progress.skipped, progress.failed);
+        return progress.toResult();
+    }
+
+    private void readNdjson(BufferedReader reader, Progress progress) throws IOException {
+        long line = 0;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if(text.isBlank())
+                continue;
+            progress.received++;
+            try {
+                accept(progress, line, objectMapper.readValue(text, ReleaseRequestDTO.class));
+            } catch (JsonProcessingException e) {
+                progress.fail(line, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private void readCsv(BufferedReader reader, Progress progress) throws IOException {
+        var records = new CsvRecordReader(reader);
+        var header = records.next();
+        if(header == null)
+            return;
+
+        var columns = new HashMap<String, Integer>();
+        for(int i = 0; i < header.size(); i++)
+            columns.put(header.get(i).strip(), i);
+
+        List<String> fields;
+        while ((fields = records.next()) != null) {
+            if(fields.stream().allMatch(String::isBlank))
+                continue;
+            var line = records.recordLine();
+            progress.received++;
+            try {
+                accept(progress, line, new ReleaseRequestDTO(
+                        column(fields, columns, "name"),
+                        column(fields, columns, "description"),
+                        parseOrNull(column(fields, columns, "status"), Status::valueOf),
+                        parseOrNull(column(fields, columns, "releaseDate"), LocalDate::parse)));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                progress.fail(line, "Malformed CSV record: " + e.getMessage());
+            }
+        }
+    }
+
+    private void accept(Progress progress, long line, ReleaseRequestDTO request) {
+        var violations = ConstraintViolations.describe(validator, request);
+        Release release = null;
+        if(violations == null) {
+            release = releaseService.mapToEntity(request);
+            violations = ConstraintViolations.describe(validator, release);
+        }
+        if(violations != null) {
+            progress.fail(line, violations);
+            return;
+        }
+
+        var previous = progress.updateExisting
+                ? progress.chunk.put(release.getName(), release)
+                : progress.chunk.putIfAbsent(release.getName(), release);
+        if(previous != null)
+            progress.skipped++;
+        if(progress.chunk.size() >= chunkSize)
+            writeChunk(progress);
+    }
+
+    private void writeChunk(Progress progress) {
+        if(progress.chunk.isEmpty())
+            return;
+
+        var releases = List.copyOf(progress.chunk.values());
+        progress.chunk.clear();
+        List<ImportedRow> rows = transactionTemplate.execute(status -> {
+            var written = releaseRepository.upsertAll(releases, progress.updateExisting);
+            if(!written.isEmpty())
+                eventPublisher.publishEvent(new ReleasesImportedEvent(written));
+            return written;
+        });
+
+        long inserted = rows.stream().filter(ImportedRow::inserted).count();
+        progress.inserted += inserted;
+        progress.updated += rows.size() - inserted;
+        progress.skipped += releases.size() - rows.size();
+
+        if(enableAppLogs)
+            logger.info("Import progress: {} received, {} inserted, {} updated, {} skipped, {} failed",
+                    progress.received, progress.inserted, progress.updated, progress.skipped, progress.failed);
+    }
+
+    private static String column(List<String> fields, Map<String, Integer> columns, String name) {
+        var index = columns.get(name);
+        if(index == null || index >= fields.size() || fields.get(index).isEmpty())
+            return null;
+        return fields.get(index);
+    }
+
+    private static <T> T parseOrNull(String value, Function<String, T> parser) {
+        return value == null ? null : parser.apply(value.strip());
+    }
+
+    private static final class Progress {
+        private final boolean updateExisting;
+        private final Map<String, Release> chunk = new LinkedHashMap<>();
+        private final List<ImportErrorDTO> errors = new ArrayList<>();
+        private long received;
+        private long inserted;
+        private long updated;
+        private long skipped;
+        private long failed;
+
+        private Progress(boolean updateExisting) {
+            this.updateExisting = updateExisting;
+        }
+
+        private void fail(long line, String message) {
+            failed++;
+            if(errors.size() < MAX_REPORTED_ERRORS)
+                errors.add(new ImportErrorDTO(line, message));
+        }
+
+        private ImportResultDTO toResult() {
+            return new ImportResultDTO(received, inserted, updated, skipped, failed, List.copyOf(errors));
+        }
+    }
+}
@@ -1,25 +1,42 @@
 package com.neon.releasetracker.service;
 
+import com.neon.releasetracker.cache.ReleaseQueryKey;
+import com.neon.releasetracker.config.CacheConfig;
+import com.neon.releasetracker.dto.ReleaseCursor;
 import com.neon.releasetracker.dto.ReleaseRequestDTO;
 import com.neon.releasetracker.dto.ReleaseResponseDTO;
+import com.neon.releasetracker.dto.ReleaseSearchResultDTO;
+import com.neon.releasetracker.dto.ReleaseTransitionRequestDTO;
 import com.neon.releasetracker.entity.Release;
+import com.neon.releasetracker.enums.CreateConflictMode;
 import com.neon.releasetracker.enums.Status;
+import com.neon.releasetracker.event.ReleaseChange;
+import com.neon.releasetracker.event.ReleaseChangedEvent;
 import com.neon.releasetracker.exception.InvalidReleaseException;
 import com.neon.releasetracker.exception.ReleaseAlreadyExistsException;
 import com.neon.releasetracker.exception.ReleaseNotFoundException;
+import com.neon.releasetracker.exception.ReleaseVersionMismatchException;
+import com.neon.releasetracker.repository.ConditionalUpdate;
+import com.neon.releasetracker.repository.CreateOutcome;
 import com.neon.releasetracker.repository.ReleaseRepository;
 import com.neon.releasetracker.repository.ReleaseSpecification;
-import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Pageable;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -28,21 +45,22 @@ public class ReleaseService {
     @Value("${logging.applogs.enable}")
     private boolean enableAppLogs;
     private final ReleaseRepository releaseRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
 
-    public ReleaseService(ReleaseRepository releaseRepository) {
+    public ReleaseService(ReleaseRepository releaseRepository, ApplicationEventPublisher eventPublisher, Validator validator) {
         this.releaseRepository = releaseRepository;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
     }
 
-    @Cacheable(value = "releases", key = """
-    #status?.name() + '-' + 
-    (#name ?: '') + '-' + 
-    (#description ?: '') + '-' + 
-    (#releaseDate?.toString() ?: '') + '-' + 
-    'page-' + #pageable.pageNumber + 
-    '-size-' + #pageable.pageSize + 
-    '-sort-' + #pageable.sort.toString()
-""")
-    public Page<Release> getAllReleases(
+    /**
+     * Listing page, selected straight into response DTOs; the DTOs are what the releases
+     * cache holds. Read-only transactions run with flushing disabled.
+     */
+    @Cacheable(value = CacheConfig.RELEASES_CACHE, key = ReleaseQueryKey.CACHE_KEY)
+    @Transactional(readOnly = true)
+    public Slice<ReleaseResponseDTO> getAllReleases(
             Status status,
             String name,
             String description,
@@ -52,13 +70,76 @@ public class ReleaseService {
         if(enableAppLogs)
             logger.info("Finding all releases");
 
-        return releaseRepository.findAll(specification, pageable);
+        return releaseRepository.findSlice(specification, pageable);
     }
 
-    @Cacheable(value = "release", key = "#id")
+    @Transactional(readOnly = true)
+    public long countReleases(
+            Status status,
+            String name,
+            String description,
+            LocalDate releaseDate) {
+        if(enableAppLogs)
+            logger.info("Counting releases");
+
+        return releaseRepository.count(ReleaseSpecification.filterByParam(status, name, description, releaseDate));
+    }
+
+    /**
+     * Cheap total for callers that can live with an approximate number: the planner's
+     * row estimate for the unfiltered table, otherwise a count kept in the releaseCounts
+     * cache until a matching write evicts it.
+     */
+    @Cacheable(value = CacheConfig.RELEASE_COUNTS_CACHE, key = ReleaseQueryKey.COUNT_CACHE_KEY)
+    @Transactional(readOnly = true)
+    public long estimateReleaseCount(
+            Status status,
+            String name,
+            String description,
+            LocalDate releaseDate) {
+        if(ReleaseQueryKey.ofFilter(status, name, description, releaseDate).isUnfiltered()) {
+            var estimate = releaseRepository.estimateCount();
+            if(estimate >= 0)
+                return estimate;
+        }
+        return countReleases(status, name, description, releaseDate);
+    }
+
+    @Cacheable(value = CacheConfig.RELEASES_CACHE, key = ReleaseQueryKey.KEYSET_CACHE_KEY)
+    @Transactional(readOnly = true)
+    public Window<ReleaseResponseDTO> getReleasesAfter(
+            Status status,
+            String name,
+            String description,
+            LocalDate releaseDate,
+            ReleaseCursor cursor,
+            int size) {
+        Specification<Release> specification = ReleaseSpecification.filterByParam(status, name, description, releaseDate);
+        if(enableAppLogs)
+            logger.info("Finding releases after cursor:{}", cursor);
+
+        return releaseRepository.findWindowAfter(specification, cursor, size);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReleaseSearchResultDTO> searchReleases(String text, int limit) {
+        if(enableAppLogs)
+            logger.info("Searching releases for:{}", text);
+
+        return releaseRepository.search(text, limit).stream()
+                .map(hit -> new ReleaseSearchResultDTO(
+                        mapToResponseDTO(hit.release()),
+                        hit.score(),
+                        SearchHighlighter.highlight(hit.release().getName(), text),
+                        SearchHighlighter.highlight(hit.release().getDescription(), text)))
+                .toList();
+    }
+
+    @Cacheable(value = CacheConfig.RELEASE_CACHE, key = "#id")
+    @Transactional(readOnly = true)
     public Release getReleaseById(Long id) {
         if(enableAppLogs)
-            logger.info("Finding release with id:" + id);
+            logger.info("Finding release with id:{}", id);
 
         return releaseRepository.findById(id)
                 .orElseThrow(() -> new ReleaseNotFoundException("Release not found with id:" + id));
@@ -68,40 +149,138 @@ public class ReleaseService {
         return releaseRepository.findReleaseByName(releaseName);
     }
 
-    @CacheEvict(value = "releases", allEntries = true)
+    @Transactional
     public Release createRelease(ReleaseRequestDTO releaseReqDto) {
+        return createRelease(releaseReqDto, CreateConflictMode.FAIL).release();
+    }
+
+    /**
+     * Creates the release with a single INSERT ... ON CONFLICT (name) statement, so two
+     * concurrent creates with the same name cannot both succeed. When the name is taken the
+     * existing release is returned (RETURN_EXISTING), letting clients retry a create safely,
+     * or ReleaseAlreadyExistsException is thrown (FAIL).
+     */
+    @Transactional
+    public CreateOutcome createRelease(ReleaseRequestDTO releaseReqDto, CreateConflictMode onConflict) {
         if(enableAppLogs)
-            logger.info("Creating release");
+            logger.info("Creating release, on conflict:{}", onConflict);
 
         var release = mapToEntity(releaseReqDto);
+        var violations = validator.validate(release);
+        if(!violations.isEmpty())
+            throw new ConstraintViolationException(violations);
 
-        if(findReleaseByName(release.getName()).isPresent())
+        var outcome = releaseRepository.insertIfAbsent(release);
+        if(outcome.created()) {
+            eventPublisher.publishEvent(ReleaseChangedEvent.of(ReleaseChange.created(outcome.release())));
+            return outcome;
+        }
+        if(onConflict == CreateConflictMode.FAIL)
             throw new ReleaseAlreadyExistsException("Release already exists with the name:" + release.getName());
-
-
-        return releaseRepository.save(release);
+        if(outcome.release() != null)
+            return outcome;
+        // the conflicting row was committed while the insert ran; a new statement sees it
+        return findReleaseByName(release.getName())
+                .map(existing -> new CreateOutcome(existing, false))
+                .orElseThrow(() -> new ReleaseAlreadyExistsException("Release already exists with the name:" + release.getName()));
     }
 
-    @CacheEvict(value = {"release", "releases"}, key = "#id", allEntries = true)
     @Transactional
     public Release updateRelease(Long id, Release updateRelease) {
+        return updateRelease(id, updateRelease, null);
+    }
+
+    /**
+     * Writes the non-null fields with one UPDATE ... RETURNING statement; the entity is not
+     * loaded first. With expectedVersions the update only applies to one of those versions of
+     * the release.
+     */
+    @Transactional
+    public Release updateRelease(Long id, Release updateRelease, Collection<Long> expectedVersions) {
         if(enableAppLogs)
-            logger.info("Updating release with id:" + id);
+            logger.info("Updating release with id:{} expected versions:{}", id, expectedVersions);
 
-        var existingRelease = getReleaseById(id);
-        if(updateRelease.getName() != null) existingRelease.setName(updateRelease.getName());
-        if(updateRelease.getDescription() != null) existingRelease.setDescription(updateRelease.getDescription());
-        if(updateRelease.getStatus() != null) existingRelease.setStatus(updateRelease.getStatus());
-        if(updateRelease.getReleaseDate() != null) existingRelease.setReleaseDate(updateRelease.getReleaseDate());
-        return  releaseRepository.save(existingRelease);
+        if(updateRelease.getName() != null && updateRelease.getName().isBlank())
+            throw new InvalidReleaseException("Name cannot be empty");
+        if(updateRelease.getDescription() != null && updateRelease.getDescription().isBlank())
+            throw new InvalidReleaseException("Description cannot be empty");
+
+        ConditionalUpdate update;
+        try {
+            update = releaseRepository.updateIfVersion(id, updateRelease, expectedVersions)
+                    .orElseThrow(() -> new ReleaseNotFoundException("Release not found with id:" + id));
+        } catch (DataIntegrityViolationException e) {
+            throw new ReleaseAlreadyExistsException("Release already exists with the name:" + updateRelease.getName());
+        }
+        if(!update.applied())
+            throw versionMismatch(update.current(), expectedVersions);
+
+        eventPublisher.publishEvent(ReleaseChangedEvent.of(ReleaseChange.updated(update.current(), update.updated())));
+        return update.updated();
     }
 
-    @CacheEvict(value = {"release", "releases"}, key = "#id", allEntries = true)
+    @Transactional
     public void deleteRelease(Long id) {
+        deleteRelease(id, null);
+    }
+
+    /**
+     * Deletes the release with one DELETE statement if it still has one of expectedVersions
+     * (any version when null); the entity is not loaded first.
+     */
+    @Transactional
+    public void deleteRelease(Long id, Collection<Long> expectedVersions) {
         if(enableAppLogs)
-            logger.info("Deleting release with id:" + id);
-        var release = getReleaseById(id);
-        releaseRepository.delete(release);
+            logger.info("Deleting release with id:{} expected versions:{}", id, expectedVersions);
+
+        var delete = releaseRepository.deleteIfVersion(id, expectedVersions)
+                .orElseThrow(() -> new ReleaseNotFoundException("Release not found with id:" + id));
+        if(!delete.deleted())
+            throw versionMismatch(delete.current(), expectedVersions);
+        eventPublisher.publishEvent(ReleaseChangedEvent.of(ReleaseChange.deleted(delete.current())));
+    }
+
+    /**
+     * Moves every release in the transition's from status that matches its filter to the
+     * to status with one set-based UPDATE, e.g. promoting a whole wave from
+     * QA_DONE_ON_STAGING to ON_PROD. Returns the ids of the releases moved.
+     */
+    @Transactional
+    public List<Long> transitionReleases(ReleaseTransitionRequestDTO transition) {
+        if(enableAppLogs)
+            logger.info("Moving releases from {} to {}, name:{} description:{} release date:{}",
+                    transition.from(), transition.to(), transition.name(), transition.description(), transition.releaseDate());
+
+        if(transition.from() == transition.to())
+            throw new InvalidReleaseException("Statuses to move from and to must differ");
+
+        var updates = releaseRepository.transitionStatus(transition.from(), transition.to(),
+                transition.name(), transition.description(), transition.releaseDate());
+        if(!updates.isEmpty())
+            eventPublisher.publishEvent(new ReleaseChangedEvent(updates.stream()
+                    .map(update -> ReleaseChange.updated(update.current(), update.updated()))
+                    .toList()));
+        return updates.stream()
+                .map(update -> update.updated().getId())
+                .toList();
+    }
+
+    private static ReleaseVersionMismatchException versionMismatch(Release current, Collection<Long> expectedVersions) {
+        return new ReleaseVersionMismatchException("Release with id:" + current.getId() + " is at version "
+                + current.getVersion() + ", not one of " + expectedVersions, current.getVersion());
+    }
+
+    public Release copyOf(Release release) {
+        var copy = new Release(
+                release.getId(),
+                release.getName(),
+                release.getDescription(),
+                release.getStatus(),
+                release.getReleaseDate(),
+                release.getCreatedAt(),
+                release.getLastUpdatedAt());
+        copy.setVersion(release.getVersion());
+        return copy;
     }
 
     public Release mapToEntity(ReleaseRequestDTO dto) {
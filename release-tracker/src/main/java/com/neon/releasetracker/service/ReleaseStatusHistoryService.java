@@ -0,0 +1,72 @@
+package com.neon.releasetracker.service;
+
+import com.neon.releasetracker.dto.ReleaseStatusHistoryDTO;
+import com.neon.releasetracker.dto.StageDwellTimeDTO;
+import com.neon.releasetracker.dto.StatusTransitionDTO;
+import com.neon.releasetracker.entity.ReleaseStatusChange;
+import com.neon.releasetracker.enums.Status;
+import com.neon.releasetracker.repository.ReleaseStatusChangeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+
+/**
+ * Reads the status history written by ReleaseStatusHistoryRecorder. The history is
+ * written behind the request, so a transition shows up here shortly after its commit.
+ */
+@Service
+public class ReleaseStatusHistoryService {
+    private static final Logger logger = LoggerFactory.getLogger((ReleaseStatusHistoryService.class));
+    @Value("${logging.applogs.enable}")
+    private boolean enableAppLogs;
+    private final ReleaseStatusChangeRepository repository;
+
+    public ReleaseStatusHistoryService(ReleaseStatusChangeRepository repository) {
+        this.repository = repository;
+    }
+
+    @Transactional(readOnly = true)
+    public ReleaseStatusHistoryDTO getHistory(Long releaseId) {
+        if(enableAppLogs)
+            logger.info("Finding status history of release with id:{}", releaseId);
+
+        return toHistory(releaseId, repository.findTimeline(releaseId), LocalDateTime.now());
+    }
+
+    @Transactional(readOnly = true)
+    public List<StageDwellTimeDTO> getStageDwellTimes(LocalDate since) {
+        if(enableAppLogs)
+            logger.info("Computing stage dwell times since:{}", since);
+
+        var from = since != null ? since.atStartOfDay() : LocalDateTime.of(1970, 1, 1, 0, 0);
+        return repository.findStageDwellTimes(from).stream()
+                .map(view -> new StageDwellTimeDTO(Status.valueOf(view.getStatus()), view.getStays(),
+                        view.getAverageSeconds(), view.getMedianSeconds(), view.getP90Seconds(), view.getMaxSeconds()))
+                .sorted(Comparator.comparing(StageDwellTimeDTO::status))
+                .toList();
+    }
+
+    static ReleaseStatusHistoryDTO toHistory(Long releaseId, List<ReleaseStatusChange> timeline, LocalDateTime now) {
+        var transitions = new ArrayList<StatusTransitionDTO>(timeline.size());
+        var dwellSeconds = new EnumMap<Status, Long>(Status.class);
+        for(int i = 0; i < timeline.size(); i++) {
+            var change = timeline.get(i);
+            boolean current = i == timeline.size() - 1;
+            var leftAt = current ? now : timeline.get(i + 1).getChangedAt();
+            long dwell = Math.max(0, Duration.between(change.getChangedAt(), leftAt).toSeconds());
+            transitions.add(new StatusTransitionDTO(change.getFromStatus(), change.getToStatus(), change.getChangedAt(), dwell, current));
+            dwellSeconds.merge(change.getToStatus(), dwell, Long::sum);
+        }
+        return new ReleaseStatusHistoryDTO(releaseId, transitions, dwellSeconds);
+    }
+}
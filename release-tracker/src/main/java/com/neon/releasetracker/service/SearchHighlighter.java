@@ -0,0 +1,69 @@
+package com.neon.releasetracker.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Marks the parts of a text that match the search terms with &lt;mark&gt; tags. The
+ * text is HTML-escaped first so the result can be rendered as-is.
+ */
+final class SearchHighlighter {
+    private static final String OPEN = "<mark>";
+    private static final String CLOSE = "</mark>";
+
+    private SearchHighlighter() {
+    }
+
+    static String highlight(String text, String query) {
+        if(text == null)
+            return null;
+
+        // matched on the text itself: lowercasing can change its length ("İ" becomes two
+        // chars), which would shift offsets found in a lowercased copy
+        var ranges = new ArrayList<int[]>();
+        for(var term : terms(query)) {
+            int index = 0;
+            while(index + term.length() <= text.length()) {
+                if(text.regionMatches(true, index, term, 0, term.length())) {
+                    ranges.add(new int[]{index, index + term.length()});
+                    index += term.length();
+                } else {
+                    index++;
+                }
+            }
+        }
+        if(ranges.isEmpty())
+            return escape(text);
+
+        ranges.sort((a, b) -> Integer.compare(a[0], b[0]));
+        var highlighted = new StringBuilder(text.length() + ranges.size() * (OPEN.length() + CLOSE.length()));
+        int position = 0;
+        for(var range : ranges) {
+            if(range[1] <= position)
+                continue;
+            int start = Math.max(range[0], position);
+            highlighted.append(escape(text.substring(position, start)))
+                    .append(OPEN)
+                    .append(escape(text.substring(start, range[1])))
+                    .append(CLOSE);
+            position = range[1];
+        }
+        return highlighted.append(escape(text.substring(position))).toString();
+    }
+
+    private static List<String> terms(String query) {
+        var strippedQuery = query.strip();
+        var terms = new ArrayList<String>();
+        if(!strippedQuery.isEmpty())
+            terms.add(strippedQuery);
+        Arrays.stream(strippedQuery.split("\\s+"))
+                .filter(term -> term.length() >= 2 && !term.equalsIgnoreCase(strippedQuery))
+                .forEach(terms::add);
+        return terms;
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
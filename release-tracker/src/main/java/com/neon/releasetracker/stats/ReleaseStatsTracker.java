@@ -0,0 +1,277 @@
+package com.neon.releasetracker.stats;
+
+import com.neon.releasetracker.dto.ReleaseStatsDTO;
+import com.neon.releasetracker.entity.Release;
+import com.neon.releasetracker.enums.Status;
+import com.neon.releasetracker.event.ReleaseChangedEvent;
+import com.neon.releasetracker.event.ReleasesImportedEvent;
+import com.neon.releasetracker.repository.ReleaseRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.IsoFields;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Release counts per (status, release date), kept in memory so GET /releases/stats runs no
+ * query. Committed changes adjust the counters incrementally; on startup, every
+ * reconcileInterval and after imports (which carry no previous state) they are recounted
+ * from the database with one GROUP BY query. The computed stats are reused until the next
+ * change or the next day.
+ * <p>
+ * Changes applied while a recount runs are replayed onto its result. A change that committed
+ * before the recount's snapshot but was applied after the recount started is counted twice
+ * until the next recount.
+ */
+public class ReleaseStatsTracker implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger((ReleaseStatsTracker.class));
+    private static final Set<Status> SHIPPED = EnumSet.of(Status.ON_PROD, Status.DONE);
+    private final ReleaseRepository releaseRepository;
+    private final Duration reconcileInterval;
+    private final Counter correctionsCounter;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicBoolean recountRequested = new AtomicBoolean();
+    private final Object recountLock = new Object();
+    private volatile Map<Bucket, LongAdder> counts = new ConcurrentHashMap<>();
+    private Queue<Delta> journal;
+    private volatile LocalDateTime reconciledAt;
+    private volatile Memo memo;
+    private volatile ScheduledExecutorService executor;
+
+    public ReleaseStatsTracker(ReleaseRepository releaseRepository, Duration reconcileInterval, MeterRegistry meterRegistry) {
+        this.releaseRepository = releaseRepository;
+        this.reconcileInterval = reconcileInterval;
+        this.correctionsCounter = Counter.builder("release.stats.corrections")
+                .description("Releases by which a recount corrected the in-memory statistics")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReleaseChanged(ReleaseChangedEvent event) {
+        lock.readLock().lock();
+        try {
+            for(var change : event.changes()) {
+                if(change.before() != null)
+                    apply(bucketOf(change.before()), -1);
+                if(change.after() != null)
+                    apply(bucketOf(change.after()), 1);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        version.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReleasesImported(ReleasesImportedEvent event) {
+        var recountExecutor = executor;
+        if(recountExecutor == null) {
+            recount(false);
+            return;
+        }
+        if(recountRequested.compareAndSet(false, true))
+            recountExecutor.execute(() -> {
+                recountRequested.set(false);
+                recount(false);
+            });
+    }
+
+    private void apply(Bucket bucket, long amount) {
+        counts.computeIfAbsent(bucket, key -> new LongAdder()).add(amount);
+        var pending = journal;
+        if(pending != null)
+            pending.add(new Delta(bucket, amount));
+    }
+
+    public ReleaseStatsDTO snapshot() {
+        return snapshot(LocalDate.now());
+    }
+
+    ReleaseStatsDTO snapshot(LocalDate today) {
+        var current = memo;
+        long currentVersion = version.get();
+        if(current != null && current.version() == currentVersion && current.stats().asOf().equals(today))
+            return current.stats();
+
+        var stats = compute(today);
+        memo = new Memo(currentVersion, stats);
+        return stats;
+    }
+
+    private ReleaseStatsDTO compute(LocalDate today) {
+        var byStatus = new EnumMap<Status, Long>(Status.class);
+        for(var status : Status.values())
+            byStatus.put(status, 0L);
+        var byWeek = new TreeMap<String, Long>();
+        var byMonth = new TreeMap<String, Long>();
+        long total = 0;
+        long upcoming = 0;
+        long overdue = 0;
+
+        for(var entry : counts.entrySet()) {
+            long releases = entry.getValue().sum();
+            if(releases == 0)
+                continue;
+            var bucket = entry.getKey();
+            total += releases;
+            byStatus.merge(bucket.status(), releases, Long::sum);
+            byWeek.merge(weekOf(bucket.releaseDate()), releases, Long::sum);
+            byMonth.merge(YearMonth.from(bucket.releaseDate()).toString(), releases, Long::sum);
+            if(!SHIPPED.contains(bucket.status())) {
+                if(bucket.releaseDate().isBefore(today))
+                    overdue += releases;
+                else
+                    upcoming += releases;
+            }
+        }
+        return new ReleaseStatsDTO(total, byStatus, byWeek, byMonth, upcoming, overdue, today, reconciledAt);
+    }
+
+    /**
+     * Recounts the releases from the database and replaces the counters, replaying the
+     * changes applied while the query ran. Any difference is reported as a correction.
+     */
+    void reconcile() {
+        recount(true);
+    }
+
+    /**
+     * Imported rows are only counted by a recount, so the difference it finds is expected
+     * and not reported when reportDrift is false.
+     */
+    private void recount(boolean reportDrift) {
+        synchronized (recountLock) {
+            doRecount(reportDrift);
+        }
+    }
+
+    private void doRecount(boolean reportDrift) {
+        var pending = new ConcurrentLinkedQueue<Delta>();
+        setJournal(pending);
+
+        var recounted = new ConcurrentHashMap<Bucket, LongAdder>();
+        try {
+            for(var row : releaseRepository.countByStatusAndReleaseDate())
+                recounted.computeIfAbsent(new Bucket(row.getStatus(), row.getReleaseDate()), key -> new LongAdder())
+                        .add(row.getReleases());
+        } catch (RuntimeException e) {
+            setJournal(null);
+            logger.warn("Could not recount release statistics: {}", e.getMessage());
+            return;
+        }
+
+        reportDrift &= reconciledAt != null;
+        long drift;
+        lock.writeLock().lock();
+        try {
+            for(var delta : pending)
+                recounted.computeIfAbsent(delta.bucket(), key -> new LongAdder()).add(delta.amount());
+            drift = drift(counts, recounted);
+            counts = recounted;
+            journal = null;
+            reconciledAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        version.incrementAndGet();
+
+        if(drift > 0 && reportDrift) {
+            correctionsCounter.increment(drift);
+            logger.warn("Recount corrected release statistics by {} release(s)", drift);
+        }
+    }
+
+    private void setJournal(Queue<Delta> pending) {
+        lock.writeLock().lock();
+        try {
+            journal = pending;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static long drift(Map<Bucket, LongAdder> counted, Map<Bucket, LongAdder> recounted) {
+        var buckets = new HashSet<>(counted.keySet());
+        buckets.addAll(recounted.keySet());
+        long drift = 0;
+        for(var bucket : buckets)
+            drift += Math.abs(sum(counted.get(bucket)) - sum(recounted.get(bucket)));
+        return drift;
+    }
+
+    private static long sum(LongAdder adder) {
+        return adder != null ? adder.sum() : 0;
+    }
+
+    private static Bucket bucketOf(Release release) {
+        return new Bucket(release.getStatus(), release.getReleaseDate());
+    }
+
+    private static String weekOf(LocalDate date) {
+        return "%d-W%02d".formatted(date.get(IsoFields.WEEK_BASED_YEAR), date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+    }
+
+    /**
+     * Counts from the database before the web server takes requests.
+     */
+    @Override
+    public synchronized void start() {
+        reconcile();
+        executor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("release-stats-recount").daemon().factory());
+        executor.scheduleWithFixedDelay(this::reconcile, reconcileInterval.toMillis(), reconcileInterval.toMillis(), TimeUnit.MILLISECONDS);
+        logger.info("Recounting release statistics every {}", reconcileInterval);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if(executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return executor != null;
+    }
+
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private record Bucket(Status status, LocalDate releaseDate) {
+    }
+
+    private record Delta(Bucket bucket, long amount) {
+    }
+
+    private record Memo(long version, ReleaseStatsDTO stats) {
+    }
+}
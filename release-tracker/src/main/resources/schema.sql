@@ -0,0 +1,35 @@
+-- Runs after Hibernate's schema update (spring.jpa.defer-datasource-initialization)
+
+-- Ids come from release_seq in blocks of 50 so inserts can be batched. Move the sequence
+-- past ids handed out by the former identity column, if any.
+SELECT setval('release_seq', (SELECT MAX(id) FROM release) + 50)
+WHERE (SELECT MAX(id) FROM release) >= (SELECT last_value FROM release_seq);
+
+-- Trigram indexes back the LIKE '%...%' filters on GET /releases and GET /releases/search
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS release_name_trgm_idx ON release USING gin (name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS release_description_trgm_idx ON release USING gin (description gin_trgm_ops);
+
+-- Every committed insert, update and delete of a release is announced on the release_changes
+-- channel (GET /releases/changes), whichever instance or statement wrote it. NOTIFY is
+-- delivered on commit, in commit order. The payload carries the row before and after; a
+-- release row stays well below the 8000 byte payload limit. The function body is quoted
+-- with '' rather than $$ so the script can be split on semicolons.
+CREATE SEQUENCE IF NOT EXISTS release_change_seq;
+CREATE OR REPLACE FUNCTION notify_release_change() RETURNS trigger LANGUAGE plpgsql AS '
+BEGIN
+    IF TG_OP = ''INSERT'' THEN
+        PERFORM pg_notify(''release_changes'', json_build_object(
+            ''id'', nextval(''release_change_seq''), ''op'', TG_OP, ''after'', row_to_json(NEW))::text);
+    ELSIF TG_OP = ''UPDATE'' THEN
+        PERFORM pg_notify(''release_changes'', json_build_object(
+            ''id'', nextval(''release_change_seq''), ''op'', TG_OP, ''before'', row_to_json(OLD), ''after'', row_to_json(NEW))::text);
+    ELSE
+        PERFORM pg_notify(''release_changes'', json_build_object(
+            ''id'', nextval(''release_change_seq''), ''op'', TG_OP, ''before'', row_to_json(OLD))::text);
+    END IF;
+    RETURN NULL;
+END';
+DROP TRIGGER IF EXISTS release_change_notify ON release;
+CREATE TRIGGER release_change_notify AFTER INSERT OR UPDATE OR DELETE ON release
+    FOR EACH ROW EXECUTE PROCEDURE notify_release_change();
@@ -0,0 +1,87 @@
+package com.neon.releasetracker.cache;
+
+import com.neon.releasetracker.config.CacheConfig;
+import com.neon.releasetracker.entity.Release;
+import com.neon.releasetracker.enums.Status;
+import com.neon.releasetracker.event.ReleaseChange;
+import com.neon.releasetracker.event.ReleaseChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReleaseCacheInvalidatorTest {
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "releaseDate"));
+
+    private CaffeineCacheManager cacheManager;
+    private ReleaseCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CaffeineCacheManager(CacheConfig.RELEASE_CACHE, CacheConfig.RELEASES_CACHE);
+        invalidator = new ReleaseCacheInvalidator(cacheManager);
+    }
+
+    @Test
+    void testCreateEvictsOnlyMatchingStatusPages() {
+        var doneKey = ReleaseQueryKey.of(Status.DONE, null, null, null, FIRST_PAGE);
+        var inDevelopmentKey = ReleaseQueryKey.of(Status.IN_DEVELOPMENT, null, null, null, FIRST_PAGE);
+        var unfilteredKey = ReleaseQueryKey.of(null, null, null, null, FIRST_PAGE);
+        cacheQueries(doneKey, inDevelopmentKey, unfilteredKey);
+
+        invalidator.onReleaseChanged(ReleaseChangedEvent.of(ReleaseChange.created(release(Status.IN_DEVELOPMENT, "Release 1"))));
+
+        var releases = cacheManager.getCache(CacheConfig.RELEASES_CACHE);
+        assertNotNull(releases.get(doneKey));
+        assertNull(releases.get(inDevelopmentKey));
+        assertNull(releases.get(unfilteredKey));
+    }
+
+    @Test
+    void testUpdateEvictsPagesMatchingOldOrNewState() {
+        var stagingKey = ReleaseQueryKey.of(Status.ON_STAGING, null, null, null, FIRST_PAGE);
+        var qaKey = ReleaseQueryKey.of(Status.QA_DONE_ON_STAGING, null, null, null, FIRST_PAGE);
+        var prodKey = ReleaseQueryKey.of(Status.ON_PROD, null, null, null, FIRST_PAGE);
+        cacheQueries(stagingKey, qaKey, prodKey);
+        cacheManager.getCache(CacheConfig.RELEASE_CACHE).put(1L, release(Status.ON_STAGING, "Release 1"));
+
+        invalidator.onReleaseChanged(ReleaseChangedEvent.of(ReleaseChange.updated(
+                release(Status.ON_STAGING, "Release 1"),
+                release(Status.QA_DONE_ON_STAGING, "Release 1"))));
+
+        var releases = cacheManager.getCache(CacheConfig.RELEASES_CACHE);
+        assertNull(releases.get(stagingKey));
+        assertNull(releases.get(qaKey));
+        assertNotNull(releases.get(prodKey));
+        assertNull(cacheManager.getCache(CacheConfig.RELEASE_CACHE).get(1L));
+    }
+
+    @Test
+    void testSubstringFilterMatching() {
+        var release = release(Status.CREATED, "Payments 2.1");
+
+        assertTrue(ReleaseQueryKey.of(null, "ments", null, null, FIRST_PAGE).matches(release));
+        assertFalse(ReleaseQueryKey.of(null, "payments", null, null, FIRST_PAGE).matches(release));
+        assertTrue(ReleaseQueryKey.of(null, "Pay%2", null, null, FIRST_PAGE).matches(release));
+        assertFalse(ReleaseQueryKey.of(null, null, null, LocalDate.now().plusDays(1), FIRST_PAGE).matches(release));
+    }
+
+    private void cacheQueries(ReleaseQueryKey... keys) {
+        var releases = cacheManager.getCache(CacheConfig.RELEASES_CACHE);
+        for(var key : keys)
+            releases.put(key, new SliceImpl<>(List.of(), FIRST_PAGE, false));
+    }
+
+    private static Release release(Status status, String name) {
+        return new Release(1L, name, "Description", status, LocalDate.now(), LocalDateTime.now(), LocalDateTime.now());
+    }
+}
@@ -2,11 +2,20 @@ package com.neon.releasetracker.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.neon.releasetracker.dto.ReleaseCursor;
 import com.neon.releasetracker.dto.ReleaseRequestDTO;
 import com.neon.releasetracker.dto.ReleaseResponseDTO;
 import com.neon.releasetracker.entity.Release;
 import com.neon.releasetracker.enums.Status;
+import com.neon.releasetracker.exception.ConnectionAdmissionException;
+import com.neon.releasetracker.feed.ReleaseChangeFeed;
+import com.neon.releasetracker.exception.ReleaseVersionMismatchException;
+import com.neon.releasetracker.service.ReleaseBatchService;
+import com.neon.releasetracker.service.ReleaseExportService;
+import com.neon.releasetracker.service.ReleaseImportService;
 import com.neon.releasetracker.service.ReleaseService;
+import com.neon.releasetracker.service.ReleaseStatusHistoryService;
+import com.neon.releasetracker.stats.ReleaseStatsTracker;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,13 +24,24 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Window;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.CannotCreateTransactionException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
@@ -35,6 +55,24 @@ public class ReleaseControllerTest {
     @MockBean
     private ReleaseService releaseService;
 
+    @MockBean
+    private ReleaseBatchService releaseBatchService;
+
+    @MockBean
+    private ReleaseExportService releaseExportService;
+
+    @MockBean
+    private ReleaseImportService releaseImportService;
+
+    @MockBean
+    private ReleaseStatusHistoryService releaseStatusHistoryService;
+
+    @MockBean
+    private ReleaseStatsTracker releaseStatsTracker;
+
+    @MockBean
+    private ReleaseChangeFeed releaseChangeFeed;
+
     private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
 
     private Release release = new Release(1L, "Release 1", "First release", Status.CREATED, LocalDate.now(), LocalDateTime.now(), LocalDateTime.now());
@@ -44,6 +82,7 @@ public class ReleaseControllerTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        release.setVersion(1L);
         when(releaseService.createRelease(any(ReleaseRequestDTO.class))).thenReturn(release);
         when(releaseService.mapToResponseDTO(any(Release.class))).thenReturn(releaseResp);
     }
@@ -65,6 +104,103 @@ public class ReleaseControllerTest {
 
     }
 
+    @Test
+    void testRequestIdIsKeptOrGenerated() throws Exception {
+        when(releaseService.getReleaseById(1L)).thenReturn(release);
+
+        mockMvc.perform(get("/releases/1")
+                        .with(httpBasic("admin", "admin"))
+                        .header("Referer", "http://localhost:8081")
+                        .header("Origin", "http://localhost:8081")
+                        .header("X-Request-Id", "load-test-42"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Request-Id", "load-test-42"));
+
+        mockMvc.perform(get("/releases/1")
+                        .with(httpBasic("admin", "admin"))
+                        .header("Referer", "http://localhost:8081")
+                        .header("Origin", "http://localhost:8081")
+                        .header("X-Request-Id", "forged\nline"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Request-Id", matchesPattern("[0-9a-f]{1,16}")));
+    }
+
+    @Test
+    void testGetReleaseByIdNotModified() throws Exception {
+        when(releaseService.getReleaseById(1L)).thenReturn(release);
+
+        var eTag = mockMvc.perform(get("/releases/1")
+                        .with(httpBasic("admin", "admin"))
+                        .header("Referer", "http://localhost:8081")
+                        .header("Origin", "http://localhost:8081"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/releases/1")
+                        .with(httpBasic("admin", "admin"))
+                        .header("Referer", "http://localhost:8081")
+                        .header("Origin", "http://localhost:8081")
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void testDatabaseAdmissionRejectionReturns503() throws Exception {
+        when(releaseService.getReleaseById(1L)).thenThrow(new CannotCreateTransactionException("Could not open JPA EntityManager",
+                new ConnectionAdmissionException("Too many requests waiting for a database connection", Duration.ofSeconds(2))));
+
+        mockMvc.perform(get("/releases/1")
+                        .with(httpBasic("admin", "admin"))
+                        .header("Referer", "http://localhost:8081")
+                        .header("Origin", "http://localhost:8081"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.message").value("Too many requests waiting for a database connection"));
+    }
+
+    @Test
+    void testGetReleasesWithExactTotal() throws Exception {
+        when(releaseService.getAllReleases(eq(Status.CREATED), eq(null), eq(null), eq(null), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(releaseResp)));
+        when(releaseService.countReleases(Status.CREATED, null, null, null)).thenReturn(12L);
+
+        mockMvc.perform(get("/releases")
+                        .param("status", "CREATED")
+                        .param("total", "EXACT")
+                        .with(httpBasic("admin", "admin"))
+                        .header("Referer", "http://localhost:8081")
+                        .header("Origin", "http://localhost:8081"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(header().string("X-Total-Count", "12"))
+                .andExpect(header().string("X-Has-Next", "false"))
+                .andExpect(header().string("ETag", startsWith("W/\"")))
+                .andExpect(header().doesNotExist("Last-Modified"));
+
+        verify(releaseService, never()).estimateReleaseCount(any(), any(), any(), any());
+    }
+
+    @Test
+    void testGetReleasesWithCursor() throws Exception {
+        var cursor = new ReleaseCursor(LocalDate.of(2025, 1, 1), 7L);
+        var window = Window.from(List.of(releaseResp), index -> new ReleaseCursor(releaseResp.releaseDate(), releaseResp.id()).toScrollPosition(), true);
+        when(releaseService.getReleasesAfter(null, null, null, null, cursor, 5)).thenReturn(window);
+
+        mockMvc.perform(get("/releases")
+                        .param("cursor", cursor.encode())
+                        .with(httpBasic("admin", "admin"))
+                        .header("Referer", "http://localhost:8081")
+                        .header("Origin", "http://localhost:8081"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(header().string("X-Next-Cursor", new ReleaseCursor(releaseResp.releaseDate(), 1L).encode()));
+
+        verify(releaseService, times(1)).getReleasesAfter(null, null, null, null, cursor, 5);
+    }
+
     @Test
     void testDeleteRelease() throws Exception {
         release = releaseService.createRelease(releaseReq);
@@ -75,7 +211,7 @@ public class ReleaseControllerTest {
                         .header("Origin", "http://localhost:8081"))
                 .andExpect(status().isNoContent());
 
-        verify(releaseService, times(1)).deleteRelease(eq(1L));
+        verify(releaseService, times(1)).deleteRelease(eq(1L), isNull());
     }
 
     @Test
@@ -102,23 +238,89 @@ public class ReleaseControllerTest {
         ReleaseResponseDTO releaseRespDto = new ReleaseResponseDTO(1L, "Updated Release", "Updated Description", Status.DONE, LocalDate.now(), LocalDateTime.now(), LocalDateTime.now());
 
         when(releaseService.mapToEntity(releaseReqDto)).thenReturn(updatedRelease);
-        when(releaseService.updateRelease(1L, updatedRelease)).thenReturn(updatedRelease);
+        updatedRelease.setVersion(4L);
+        when(releaseService.updateRelease(1L, updatedRelease, List.of(3L))).thenReturn(updatedRelease);
         when(releaseService.mapToResponseDTO(updatedRelease)).thenReturn(releaseRespDto);
 
         mockMvc.perform(put("/releases/1")
                         .with(httpBasic("admin", "admin"))
                         .header("Referer", "http://localhost:8081")
                         .header("Origin", "http://localhost:8081")
+                        .header("If-Match", "\"3\"")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(releaseReqDto))) // Convert DTO to JSON
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.name").value("Updated Release"))
                 .andExpect(jsonPath("$.description").value("Updated Description"))
-                .andExpect(jsonPath("$.status").value("DONE"));
+                .andExpect(jsonPath("$.status").value("DONE"))
+                .andExpect(header().string("ETag", "\"4\""));
 
         verify(releaseService, times(1)).mapToEntity(releaseReqDto);
-        verify(releaseService, times(1)).updateRelease(1L, updatedRelease);
+        verify(releaseService, times(1)).updateRelease(1L, updatedRelease, List.of(3L));
         verify(releaseService, times(1)).mapToResponseDTO(updatedRelease);
     }
+
+    @Test
+    void testUpdateReleaseWithStaleVersionReturns412() throws Exception {
+        when(releaseService.mapToEntity(any(ReleaseRequestDTO.class))).thenReturn(new Release());
+        when(releaseService.updateRelease(eq(1L), any(Release.class), eq(List.of(3L))))
+                .thenThrow(new ReleaseVersionMismatchException("Release with id:1 is at version 5, not one of [3]", 5L));
+
+        mockMvc.perform(put("/releases/1")
+                        .with(httpBasic("admin", "admin"))
+                        .header("Referer", "http://localhost:8081")
+                        .header("Origin", "http://localhost:8081")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"status\": \"DONE\" }"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string("ETag", "\"5\""));
+    }
+
+    @Test
+    void testIfMatchListIsComparedStrongly() throws Exception {
+        var ifMatches = Map.of(
+                "\"4\", \"5\"", List.of(4L, 5L),
+                "W/\"4\", \"5\"", List.of(5L),
+                "\"five\",\"6\"", List.of(6L));
+        for(var ifMatch : ifMatches.entrySet()) {
+            mockMvc.perform(delete("/releases/1")
+                            .with(httpBasic("admin", "admin"))
+                            .header("Referer", "http://localhost:8081")
+                            .header("Origin", "http://localhost:8081")
+                            .header("If-Match", ifMatch.getKey()))
+                    .andExpect(status().isNoContent());
+            verify(releaseService, times(1)).deleteRelease(1L, ifMatch.getValue());
+        }
+    }
+
+    @Test
+    void testWeakIfMatchFailsPreconditionWith412() throws Exception {
+        doThrow(new ReleaseVersionMismatchException("Release with id:1 is at version 5, not one of []", 5L))
+                .when(releaseService).deleteRelease(1L, List.of());
+
+        for(var ifMatch : List.of("W/\"5\"", "W/\"4\", W/\"5\"", "\"five\"")) {
+            mockMvc.perform(delete("/releases/1")
+                            .with(httpBasic("admin", "admin"))
+                            .header("Referer", "http://localhost:8081")
+                            .header("Origin", "http://localhost:8081")
+                            .header("If-Match", ifMatch))
+                    .andExpect(status().isPreconditionFailed())
+                    .andExpect(header().string("ETag", "\"5\""));
+        }
+    }
+
+    @Test
+    void testMalformedIfMatchReturns400() throws Exception {
+        for(var ifMatch : List.of("5", "W/5", "\"5", "\"5\"x", "\"4\" \"5\"", ",")) {
+            mockMvc.perform(delete("/releases/1")
+                            .with(httpBasic("admin", "admin"))
+                            .header("Referer", "http://localhost:8081")
+                            .header("Origin", "http://localhost:8081")
+                            .header("If-Match", ifMatch))
+                    .andExpect(status().isBadRequest());
+        }
+        verify(releaseService, never()).deleteRelease(any(), any());
+    }
 }
@@ -0,0 +1,66 @@
+package com.neon.releasetracker.datasource;
+
+import com.neon.releasetracker.exception.ConnectionAdmissionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+public class AdmissionControlledDataSourceTest {
+    @Mock
+    private DataSource targetDataSource;
+
+    @Mock
+    private Connection connection;
+
+    private AdmissionControlledDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        dataSource = new AdmissionControlledDataSource(targetDataSource, 1, 0, Duration.ofMillis(50), Duration.ofSeconds(3));
+    }
+
+    @Test
+    void testRejectsBeyondLimitAndReleasesOnClose() throws SQLException {
+        var first = dataSource.getConnection();
+
+        var rejected = assertThrows(ConnectionAdmissionException.class, dataSource::getConnection);
+        assertEquals(Duration.ofSeconds(3), rejected.getRetryAfter());
+
+        first.close();
+        first.close();
+        assertEquals(1, dataSource.getAvailablePermits());
+        verify(connection, times(2)).close();
+        dataSource.getConnection();
+        verify(targetDataSource, times(2)).getConnection();
+    }
+
+    @Test
+    void testReleasesPermitWhenPoolFails() throws SQLException {
+        when(targetDataSource.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void testWaitingCallerTimesOut() throws SQLException {
+        dataSource = new AdmissionControlledDataSource(targetDataSource, 1, 1, Duration.ofMillis(50), Duration.ofSeconds(1));
+        dataSource.getConnection();
+
+        var rejected = assertThrows(ConnectionAdmissionException.class, dataSource::getConnection);
+
+        assertEquals("Timed out waiting for a database connection", rejected.getMessage());
+        assertEquals(0, dataSource.getWaiting());
+    }
+}
@@ -0,0 +1,76 @@
+package com.neon.releasetracker.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ReplicaRoutingDataSourceTest {
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource firstReplicaPool;
+
+    @Mock
+    private DataSource secondReplicaPool;
+
+    private ReplicaRoutingDataSource.Replica first;
+    private ReplicaRoutingDataSource.Replica second;
+    private ReplicaRoutingDataSource router;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        first = new ReplicaRoutingDataSource.Replica("replica-1", firstReplicaPool);
+        second = new ReplicaRoutingDataSource.Replica("replica-2", secondReplicaPool);
+        router = new ReplicaRoutingDataSource(primary, List.of(first, second), Duration.ofSeconds(1));
+    }
+
+    @Test
+    void testRoutesToPrimaryUntilReplicasAreProbed() {
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, router.currentTarget());
+    }
+
+    @Test
+    void testRoundRobinsOverCaughtUpReplicas() {
+        long probeStarted = System.nanoTime();
+        first.probed(probeStarted, true, 0);
+        second.probed(probeStarted, true, 0);
+
+        var targets = new HashSet<String>();
+        for(int i = 0; i < 4; i++)
+            targets.add(router.currentTarget());
+
+        assertEquals(Set.of("replica-1", "replica-2"), targets);
+    }
+
+    @Test
+    void testSkipsLaggingAndUnreachableReplicas() {
+        long probeStarted = System.nanoTime();
+        first.probed(probeStarted, false, Duration.ofSeconds(5).toNanos());
+        second.probed(probeStarted, true, 0);
+        assertEquals("replica-2", router.currentTarget());
+
+        second.unreachable();
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, router.currentTarget());
+    }
+
+    @Test
+    void testReadsFollowingAWriteStayOnPrimaryUntilTheNextProbe() {
+        first.probed(System.nanoTime(), true, 0);
+        second.probed(System.nanoTime(), true, 0);
+
+        router.markWrite();
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, router.currentTarget());
+
+        first.probed(System.nanoTime(), true, 0);
+        assertEquals("replica-1", router.currentTarget());
+    }
+}
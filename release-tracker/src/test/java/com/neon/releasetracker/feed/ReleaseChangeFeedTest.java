@@ -0,0 +1,80 @@
+package com.neon.releasetracker.feed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neon.releasetracker.cache.ReleaseQueryKey;
+import com.neon.releasetracker.config.ReleaseChangeFeedProperties;
+import com.neon.releasetracker.entity.Release;
+import com.neon.releasetracker.enums.SlowConsumerPolicy;
+import com.neon.releasetracker.enums.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+public class ReleaseChangeFeedTest {
+    private static final ReleaseQueryKey ALL = ReleaseQueryKey.ofFilter(null, null, null, null);
+    private static final ReleaseQueryKey ON_PROD = ReleaseQueryKey.ofFilter(Status.ON_PROD, null, null, null);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReleaseChangeFeed feed(int replaySize, int bufferSize) {
+        var properties = new ReleaseChangeFeedProperties(true, replaySize, bufferSize, SlowConsumerPolicy.DISCONNECT,
+                Duration.ofSeconds(15), Duration.ofMinutes(30), Duration.ofSeconds(5));
+        return new ReleaseChangeFeed(properties, new ObjectMapper(), meterRegistry);
+    }
+
+    private static Release release(Status status) {
+        return new Release(1L, "Release 1", "Description", status, LocalDate.now(), LocalDateTime.now(), LocalDateTime.now());
+    }
+
+    private static ReleaseFeedEvent updated(long id, Status from, Status to) {
+        return new ReleaseFeedEvent(id, release(from), release(to), "{}");
+    }
+
+    private static List<Long> ids(ReleaseChangeSubscription subscription) {
+        return subscription.pending().stream().map(ReleaseFeedEvent::id).toList();
+    }
+
+    @Test
+    void testResumeReplaysMatchingEventsAfterLastEventId() {
+        var feed = feed(3, 10);
+        feed.publish(updated(1, Status.CREATED, Status.IN_DEVELOPMENT));
+        feed.publish(updated(2, Status.CREATED, Status.IN_DEVELOPMENT));
+        feed.publish(updated(3, Status.QA_DONE_ON_STAGING, Status.ON_PROD));
+        feed.publish(updated(4, Status.ON_PROD, Status.DONE));
+
+        var resumed = feed.newSubscription(mock(SseEmitter.class), ON_PROD);
+        feed.register(resumed, "2");
+        var tooOld = feed.newSubscription(mock(SseEmitter.class), ALL);
+        feed.register(tooOld, "1");
+        feed.publish(updated(5, Status.CREATED, Status.IN_DEVELOPMENT));
+
+        // events 3 and 4 enter and leave ON_PROD; event 5 never matches the filter
+        assertEquals(List.of(3L, 4L), ids(resumed));
+        // event 1 has left the replay, so the subscriber is told to reload
+        assertTrue(tooOld.pending().get(0).isReset());
+        assertEquals(5L, tooOld.pending().get(1).id());
+    }
+
+    @Test
+    void testSlowSubscriberIsDisconnected() {
+        var feed = feed(10, 2);
+        var emitter = mock(SseEmitter.class);
+        var slow = feed.newSubscription(emitter, ALL);
+        feed.register(slow, null);
+
+        feed.publish(updated(1, Status.CREATED, Status.IN_DEVELOPMENT));
+        feed.publish(updated(2, Status.CREATED, Status.IN_DEVELOPMENT));
+        feed.publish(updated(3, Status.CREATED, Status.IN_DEVELOPMENT));
+
+        verify(emitter).complete();
+        assertEquals(0, feed.subscriberCount());
+        assertEquals(1, meterRegistry.counter("release.changes.overflows", "policy", "DISCONNECT").count());
+    }
+}
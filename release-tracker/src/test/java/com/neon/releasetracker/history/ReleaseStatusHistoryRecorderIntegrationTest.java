@@ -0,0 +1,61 @@
+package com.neon.releasetracker.history;
+
+import com.neon.releasetracker.entity.Release;
+import com.neon.releasetracker.enums.Status;
+import com.neon.releasetracker.event.ReleaseChange;
+import com.neon.releasetracker.event.ReleaseChangedEvent;
+import com.neon.releasetracker.repository.ReleaseStatusChangeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+public class ReleaseStatusHistoryRecorderIntegrationTest {
+    @Autowired
+    private ReleaseStatusHistoryRecorder recorder;
+
+    @Autowired
+    private ReleaseStatusChangeRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testWritesFromAfterCommitWhenNotRunning() {
+        // stopped, the recorder writes in the committing transaction's after-commit callback
+        recorder.stop();
+        // history rows have no foreign key, so an id no release uses keeps the test apart from real data
+        long releaseId = -ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+        var release = new Release(releaseId, "Release", "Description", Status.CREATED, LocalDate.now(), LocalDateTime.now(), LocalDateTime.now());
+
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                repository.findTimeline(releaseId);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recorder.onReleaseChanged(ReleaseChangedEvent.of(ReleaseChange.created(release)));
+                    }
+                });
+            });
+        } finally {
+            recorder.start();
+        }
+
+        var timeline = repository.findTimeline(releaseId);
+        try {
+            assertEquals(1, timeline.size());
+            assertEquals(Status.CREATED, timeline.get(0).getToStatus());
+        } finally {
+            repository.deleteAll(timeline);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.neon.releasetracker.history;
+
+import com.neon.releasetracker.config.ReleaseStatusHistoryProperties;
+import com.neon.releasetracker.entity.Release;
+import com.neon.releasetracker.entity.ReleaseStatusChange;
+import com.neon.releasetracker.enums.Status;
+import com.neon.releasetracker.event.ReleaseChange;
+import com.neon.releasetracker.event.ReleaseChangedEvent;
+import com.neon.releasetracker.event.ReleasesImportedEvent;
+import com.neon.releasetracker.repository.ImportedRow;
+import com.neon.releasetracker.repository.ReleaseStatusChangeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+public class ReleaseStatusHistoryRecorderTest {
+    @Mock
+    private ReleaseStatusChangeRepository repository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final List<List<ReleaseStatusChange>> batches = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(repository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            var batch = new ArrayList<ReleaseStatusChange>();
+            ((Iterable<ReleaseStatusChange>) invocation.getArgument(0)).forEach(batch::add);
+            batches.add(batch);
+            return batch;
+        });
+    }
+
+    private ReleaseStatusHistoryRecorder recorder(int queueCapacity, int batchSize) {
+        var properties = new ReleaseStatusHistoryProperties(true, queueCapacity, batchSize,
+                Duration.ofMillis(20), Duration.ofMillis(10), 3, Duration.ofSeconds(5));
+        return new ReleaseStatusHistoryRecorder(repository, transactionTemplate, properties, meterRegistry);
+    }
+
+    private static Release release(long id, Status status) {
+        return new Release(id, "Release " + id, "Description", status, LocalDate.now(), LocalDateTime.now(), LocalDateTime.now());
+    }
+
+    @Test
+    void testRecordsOnlyStatusChanges() {
+        assertEquals(Status.CREATED, ReleaseStatusHistoryRecorder.toTransition(ReleaseChange.created(release(1, Status.CREATED))).getToStatus());
+        assertNull(ReleaseStatusHistoryRecorder.toTransition(ReleaseChange.created(release(1, Status.CREATED))).getFromStatus());
+        assertNull(ReleaseStatusHistoryRecorder.toTransition(ReleaseChange.updated(release(1, Status.ON_DEV), release(1, Status.ON_DEV))));
+        assertNull(ReleaseStatusHistoryRecorder.toTransition(ReleaseChange.deleted(release(1, Status.ON_DEV))));
+
+        var transition = ReleaseStatusHistoryRecorder.toTransition(ReleaseChange.updated(release(1, Status.ON_DEV), release(1, Status.QA_DONE_ON_DEV)));
+        assertEquals(Status.ON_DEV, transition.getFromStatus());
+        assertEquals(Status.QA_DONE_ON_DEV, transition.getToStatus());
+    }
+
+    @Test
+    void testRecordsImportedInsertsAndStatusChanges() {
+        var recorder = recorder(10, 10);
+        var now = LocalDateTime.now();
+
+        recorder.onReleasesImported(new ReleasesImportedEvent(List.of(
+                new ImportedRow(1L, "Release 1", true, null, Status.CREATED, now),
+                new ImportedRow(2L, "Release 2", false, Status.ON_DEV, Status.QA_DONE_ON_DEV, now),
+                new ImportedRow(3L, "Release 3", false, Status.ON_DEV, Status.ON_DEV, now),
+                new ImportedRow(4L, "Release 4", false, null, Status.ON_DEV, now))));
+
+        assertEquals(1, batches.size());
+        var transitions = batches.get(0);
+        assertEquals(2, transitions.size());
+        assertNull(transitions.get(0).getFromStatus());
+        assertEquals(Status.CREATED, transitions.get(0).getToStatus());
+        assertEquals(Status.ON_DEV, transitions.get(1).getFromStatus());
+        assertEquals(Status.QA_DONE_ON_DEV, transitions.get(1).getToStatus());
+        assertEquals(now, transitions.get(1).getChangedAt());
+    }
+
+    @Test
+    void testQueuedTransitionsAreWrittenInBatchesAndDrainedOnStop() {
+        var recorder = recorder(100, 4);
+        var changes = new ArrayList<ReleaseChange>();
+        for(long id = 1; id <= 10; id++)
+            changes.add(ReleaseChange.updated(release(id, Status.ON_STAGING), release(id, Status.QA_DONE_ON_STAGING)));
+
+        recorder.start();
+        recorder.onReleaseChanged(new ReleaseChangedEvent(changes));
+        recorder.stop();
+
+        assertEquals(10, batches.stream().mapToInt(List::size).sum());
+        assertEquals(4, batches.stream().mapToInt(List::size).max().orElse(0));
+        assertEquals(0, recorder.queued());
+        assertEquals(10.0, meterRegistry.counter("release.status_history.written").count());
+    }
+
+    @Test
+    void testWritesDirectlyWhenNotRunning() {
+        var recorder = recorder(10, 10);
+
+        recorder.onReleaseChanged(ReleaseChangedEvent.of(ReleaseChange.created(release(1, Status.CREATED))));
+
+        assertEquals(1, batches.size());
+        assertEquals(0, recorder.queued());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFullQueueDropsAfterEnqueueTimeout() throws InterruptedException {
+        var writing = new CountDownLatch(1);
+        var resume = new CountDownLatch(1);
+        when(repository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            writing.countDown();
+            resume.await();
+            var batch = new ArrayList<ReleaseStatusChange>();
+            ((Iterable<ReleaseStatusChange>) invocation.getArgument(0)).forEach(batch::add);
+            batches.add(batch);
+            return batch;
+        });
+        var recorder = recorder(1, 1);
+        recorder.start();
+
+        recorder.onReleaseChanged(ReleaseChangedEvent.of(ReleaseChange.created(release(1, Status.CREATED))));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        recorder.onReleaseChanged(ReleaseChangedEvent.of(ReleaseChange.created(release(2, Status.CREATED))));
+        recorder.onReleaseChanged(ReleaseChangedEvent.of(ReleaseChange.created(release(3, Status.CREATED))));
+        resume.countDown();
+        recorder.stop();
+
+        assertEquals(1.0, meterRegistry.counter("release.status_history.dropped").count());
+        assertEquals(2.0, meterRegistry.counter("release.status_history.written").count());
+    }
+}
@@ -0,0 +1,51 @@
+package com.neon.releasetracker.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SamplingTurboFilterTest {
+    private final LoggerContext context = new LoggerContext();
+    private final SamplingTurboFilter filter = new SamplingTurboFilter();
+
+    @BeforeEach
+    void setUp() {
+        context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+        filter.setContext(context);
+        filter.setSamples("com.neon.releasetracker.controller=10, com.neon.releasetracker.controller.ReleaseController=1000");
+        filter.start();
+    }
+
+    private int kept(Logger logger, Level level, int events) {
+        int kept = 0;
+        for(int i = 0; i < events; i++) {
+            if(filter.decide(null, logger, level, "Req to get release with id:{}", new Object[]{i}, null) == FilterReply.NEUTRAL)
+                kept++;
+        }
+        return kept;
+    }
+
+    @Test
+    void testLongestPrefixSamplesInfoEvents() {
+        int controllerEvents = kept(context.getLogger("com.neon.releasetracker.controller.OtherController"), Level.INFO, 10_000);
+        int releaseControllerEvents = kept(context.getLogger("com.neon.releasetracker.controller.ReleaseController"), Level.INFO, 10_000);
+
+        // on average 1 in 10 and 1 in 1000
+        assertTrue(controllerEvents > 700 && controllerEvents < 1300, "kept " + controllerEvents);
+        assertTrue(releaseControllerEvents < 50, "kept " + releaseControllerEvents);
+    }
+
+    @Test
+    void testWarningsAndOtherCategoriesAreNeverSampled() {
+        var controller = context.getLogger("com.neon.releasetracker.controller.ReleaseController");
+
+        assertEquals(1000, kept(controller, Level.WARN, 1000));
+        assertEquals(1000, kept(context.getLogger("com.neon.releasetracker.service.ReleaseService"), Level.INFO, 1000));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, controller, Level.INFO, null, null, null));
+    }
+}
@@ -0,0 +1,190 @@
+package com.neon.releasetracker.repository;
+
+import com.neon.releasetracker.entity.Release;
+import com.neon.releasetracker.enums.Status;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the native statements of ReleaseRepositoryCustomImpl against the configured
+ * PostgreSQL database. Every test rolls back, and names carry a random prefix so the
+ * rows already in the database never match.
+ */
+@SpringBootTest
+@Transactional
+public class ReleaseRepositoryIntegrationTest {
+    @Autowired
+    private ReleaseRepository releaseRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private String prefix;
+
+    @BeforeEach
+    void setUp() {
+        prefix = "it-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+    }
+
+    private Release save(String name, Status status) {
+        return releaseRepository.saveAndFlush(new Release(null, prefix + name, "Description", status, LocalDate.now(), null, null));
+    }
+
+    private Release changes(String name, String description, Status status) {
+        return new Release(null, name, description, status, null, null, null);
+    }
+
+    private Release reload(Long id) {
+        entityManager.clear();
+        return releaseRepository.findById(id).orElse(null);
+    }
+
+    @Test
+    void testInsertIfAbsentDrawsIdFromSequenceAndReturnsExistingRow() {
+        var saved = save("saved", Status.CREATED);
+
+        var inserted = releaseRepository.insertIfAbsent(new Release(null, prefix + "new", "Description", Status.CREATED, LocalDate.now(), null, null));
+        var sequenceValue = ((Number) entityManager.createNativeQuery("SELECT currval('" + Release.ID_SEQUENCE + "')").getSingleResult()).longValue();
+
+        assertTrue(inserted.created());
+        assertEquals(sequenceValue, inserted.release().getId());
+        assertNotEquals(saved.getId(), inserted.release().getId());
+        assertEquals(0L, inserted.release().getVersion());
+        assertEquals(inserted.release().getCreatedAt(), inserted.release().getLastUpdatedAt());
+
+        var existing = releaseRepository.insertIfAbsent(new Release(null, prefix + "new", "Other", Status.ON_DEV, LocalDate.now(), null, null));
+
+        assertFalse(existing.created());
+        assertEquals(inserted.release().getId(), existing.release().getId());
+        assertEquals("Description", existing.release().getDescription());
+        assertEquals(Status.CREATED, existing.release().getStatus());
+        // the Hibernate-generated ids keep working after ids were drawn with nextval
+        assertNotEquals(inserted.release().getId(), save("after", Status.CREATED).getId());
+    }
+
+    @Test
+    void testUpdateIfVersionAppliesOnlyToExpectedVersion() {
+        var saved = save("update", Status.ON_DEV);
+
+        var applied = releaseRepository.updateIfVersion(saved.getId(), changes(null, null, Status.QA_DONE_ON_DEV), List.of(0L)).orElseThrow();
+
+        assertTrue(applied.applied());
+        assertEquals(Status.ON_DEV, applied.current().getStatus());
+        assertEquals(0L, applied.current().getVersion());
+        assertEquals(Status.QA_DONE_ON_DEV, applied.updated().getStatus());
+        assertEquals(saved.getName(), applied.updated().getName());
+        assertEquals(1L, applied.updated().getVersion());
+
+        var stale = releaseRepository.updateIfVersion(saved.getId(), changes(null, "Stale", null), List.of(0L)).orElseThrow();
+
+        assertFalse(stale.applied());
+        assertEquals(1L, stale.current().getVersion());
+        assertEquals("Description", reload(saved.getId()).getDescription());
+
+        var unconditional = releaseRepository.updateIfVersion(saved.getId(), changes(null, "Any version", null), null).orElseThrow();
+
+        assertTrue(unconditional.applied());
+        assertEquals(2L, unconditional.updated().getVersion());
+        assertEquals("Any version", reload(saved.getId()).getDescription());
+        assertTrue(releaseRepository.updateIfVersion(-1L, changes(null, "Missing", null), null).isEmpty());
+    }
+
+    @Test
+    void testUpdateIfVersionToTakenNameViolatesUniqueName() {
+        var taken = save("taken", Status.CREATED);
+        var renamed = save("renamed", Status.CREATED);
+
+        assertThrows(DataIntegrityViolationException.class, () ->
+                releaseRepository.updateIfVersion(renamed.getId(), changes(taken.getName(), null, null), null));
+    }
+
+    @Test
+    void testDeleteIfVersionKeepsRowOnMismatch() {
+        var saved = save("delete", Status.CREATED);
+
+        var stale = releaseRepository.deleteIfVersion(saved.getId(), List.of()).orElseThrow();
+
+        assertFalse(stale.deleted());
+        assertEquals(0L, stale.current().getVersion());
+        assertEquals(saved.getName(), reload(saved.getId()).getName());
+
+        var deleted = releaseRepository.deleteIfVersion(saved.getId(), List.of(3L, 0L)).orElseThrow();
+
+        assertTrue(deleted.deleted());
+        assertNull(reload(saved.getId()));
+        assertTrue(releaseRepository.deleteIfVersion(saved.getId(), null).isEmpty());
+    }
+
+    @Test
+    void testTransitionStatusMovesMatchingReleasesInIdOrder() {
+        var first = save("staged-1", Status.QA_DONE_ON_STAGING);
+        var second = save("staged-2", Status.QA_DONE_ON_STAGING);
+        var other = save("staged-3", Status.ON_STAGING);
+
+        var moved = releaseRepository.transitionStatus(Status.QA_DONE_ON_STAGING, Status.ON_PROD, prefix + "staged", null, null);
+
+        assertEquals(List.of(first.getId(), second.getId()), moved.stream().map(update -> update.current().getId()).toList());
+        for(var update : moved) {
+            assertEquals(Status.QA_DONE_ON_STAGING, update.current().getStatus());
+            assertEquals(0L, update.current().getVersion());
+            assertEquals(first.getLastUpdatedAt(), update.current().getLastUpdatedAt());
+            assertEquals(Status.ON_PROD, update.updated().getStatus());
+            assertEquals(1L, update.updated().getVersion());
+        }
+        assertEquals(Status.ON_STAGING, reload(other.getId()).getStatus());
+        assertTrue(releaseRepository.transitionStatus(Status.QA_DONE_ON_STAGING, Status.ON_PROD, prefix + "staged", null, null).isEmpty());
+    }
+
+    @Test
+    void testUpsertAllSkipsOrUpdatesTakenNames() {
+        var existing = save("existing", Status.ON_DEV);
+        var releases = List.of(
+                new Release(null, existing.getName(), "Imported", Status.DONE, LocalDate.now(), null, null),
+                new Release(null, prefix + "imported", "Imported", Status.CREATED, LocalDate.now(), null, null));
+
+        var skipped = releaseRepository.upsertAll(releases, false);
+
+        assertEquals(1, skipped.size());
+        assertEquals(prefix + "imported", skipped.get(0).name());
+        assertTrue(skipped.get(0).inserted());
+        assertNull(skipped.get(0).previousStatus());
+        assertEquals("Description", reload(existing.getId()).getDescription());
+
+        var updated = releaseRepository.upsertAll(releases, true);
+
+        assertEquals(2, updated.size());
+        var updatedExisting = updated.stream().filter(row -> row.id().equals(existing.getId())).findFirst().orElseThrow();
+        assertFalse(updatedExisting.inserted());
+        assertEquals(Status.ON_DEV, updatedExisting.previousStatus());
+        assertEquals(Status.DONE, updatedExisting.status());
+        var reloaded = reload(existing.getId());
+        assertEquals("Imported", reloaded.getDescription());
+        assertEquals(1L, reloaded.getVersion());
+        assertEquals(skipped.get(0).id(), updated.stream().filter(row -> row.name().equals(prefix + "imported")).findFirst().orElseThrow().id());
+    }
+
+    @Test
+    void testUpsertAllFitsMaxUpsertSizeInOneStatement() {
+        var releases = new ArrayList<Release>(ReleaseRepositoryCustom.MAX_UPSERT_SIZE);
+        for(int i = 0; i < ReleaseRepositoryCustom.MAX_UPSERT_SIZE; i++)
+            releases.add(new Release(null, prefix + i, "Imported", Status.CREATED, LocalDate.now(), null, null));
+
+        assertEquals(ReleaseRepositoryCustom.MAX_UPSERT_SIZE, releaseRepository.upsertAll(releases, false).size());
+    }
+}
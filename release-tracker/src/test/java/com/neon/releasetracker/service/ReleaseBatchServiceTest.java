@@ -0,0 +1,146 @@
+package com.neon.releasetracker.service;
+
+import com.neon.releasetracker.dto.ReleaseBatchUpdateDTO;
+import com.neon.releasetracker.dto.ReleaseRequestDTO;
+import com.neon.releasetracker.entity.Release;
+import com.neon.releasetracker.enums.BatchItemStatus;
+import com.neon.releasetracker.enums.Status;
+import com.neon.releasetracker.event.ReleaseChangedEvent;
+import com.neon.releasetracker.repository.ReleaseNameView;
+import com.neon.releasetracker.repository.ReleaseRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+public class ReleaseBatchServiceTest {
+    @Mock
+    private ReleaseRepository releaseRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReleaseBatchService releaseBatchService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        var validator = Validation.buildDefaultValidatorFactory().getValidator();
+        var releaseService = new ReleaseService(releaseRepository, eventPublisher, validator);
+        releaseBatchService = new ReleaseBatchService(releaseRepository, releaseService, validator, eventPublisher, transactionManager);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateReleasesReportsPerItemFailures() {
+        var existingName = mock(ReleaseNameView.class);
+        when(existingName.getName()).thenReturn("Existing");
+        when(existingName.getId()).thenReturn(7L);
+        when(releaseRepository.findNamesIn(anyCollection())).thenReturn(List.of(existingName));
+        when(releaseRepository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            var saved = new ArrayList<Release>();
+            long id = 100;
+            for(var release : (Iterable<Release>) invocation.getArgument(0)) {
+                release.setId(id++);
+                saved.add(release);
+            }
+            return saved;
+        });
+
+        var result = releaseBatchService.createReleases(List.of(
+                new ReleaseRequestDTO("Release 1", "First", Status.CREATED, LocalDate.now()),
+                new ReleaseRequestDTO("Release 1", "Duplicate", Status.CREATED, LocalDate.now()),
+                new ReleaseRequestDTO("Existing", "Taken", Status.CREATED, LocalDate.now()),
+                new ReleaseRequestDTO("", "Invalid", Status.CREATED, LocalDate.now())));
+
+        assertEquals(1, result.succeeded());
+        assertEquals(3, result.failed());
+        assertEquals(BatchItemStatus.CREATED, result.items().get(0).status());
+        assertEquals(100L, result.items().get(0).id());
+        assertEquals(BatchItemStatus.FAILED, result.items().get(1).status());
+        assertEquals("Release already exists with the name:Existing", result.items().get(2).message());
+        assertEquals(BatchItemStatus.FAILED, result.items().get(3).status());
+        verify(releaseRepository, times(1)).findNamesIn(anyCollection());
+        verify(eventPublisher, times(1)).publishEvent(any(ReleaseChangedEvent.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testNameTakenConcurrentlyIsReportedPerItem() {
+        var takenName = mock(ReleaseNameView.class);
+        when(takenName.getName()).thenReturn("Release 2");
+        when(takenName.getId()).thenReturn(7L);
+        // the name is free when checked, then another transaction inserts it before the flush
+        when(releaseRepository.findNamesIn(anyCollection())).thenReturn(List.of(), List.of(takenName));
+        when(releaseRepository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            var saved = new ArrayList<Release>();
+            long id = 100;
+            for(var release : (Iterable<Release>) invocation.getArgument(0)) {
+                release.setId(id++);
+                saved.add(release);
+            }
+            return saved;
+        });
+        doThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"))
+                .doNothing()
+                .when(releaseRepository).flush();
+
+        var result = releaseBatchService.createReleases(List.of(
+                new ReleaseRequestDTO("Release 1", "First", Status.CREATED, LocalDate.now()),
+                new ReleaseRequestDTO("Release 2", "Second", Status.CREATED, LocalDate.now())));
+
+        assertEquals(1, result.succeeded());
+        assertEquals(BatchItemStatus.CREATED, result.items().get(0).status());
+        assertEquals("Release already exists with the name:Release 2", result.items().get(1).message());
+        verify(transactionManager, times(1)).rollback(any());
+        verify(eventPublisher, times(1)).publishEvent(any(ReleaseChangedEvent.class));
+    }
+
+    @Test
+    void testRepeatedConflictIsRethrown() {
+        when(releaseRepository.findNamesIn(anyCollection())).thenReturn(List.of());
+        doThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"))
+                .when(releaseRepository).flush();
+
+        assertThrows(DataIntegrityViolationException.class, () -> releaseBatchService.createReleases(List.of(
+                new ReleaseRequestDTO("Release 1", "First", Status.CREATED, LocalDate.now()))));
+        verify(releaseRepository, times(2)).flush();
+    }
+
+    @Test
+    void testUpdateReleasesLoadsAllInOneQuery() {
+        var release = new Release(1L, "Release 1", "Description", Status.ON_STAGING, LocalDate.now(), LocalDateTime.now(), LocalDateTime.now());
+        when(releaseRepository.findAllById(anyIterable())).thenReturn(List.of(release));
+
+        var result = releaseBatchService.updateReleases(List.of(
+                new ReleaseBatchUpdateDTO(1L, null, null, Status.QA_DONE_ON_STAGING, null),
+                new ReleaseBatchUpdateDTO(2L, null, null, Status.DONE, null)));
+
+        assertEquals(1, result.succeeded());
+        assertEquals("Release not found with id:2", result.items().get(1).message());
+        assertEquals(Status.QA_DONE_ON_STAGING, release.getStatus());
+
+        var eventCaptor = ArgumentCaptor.forClass(ReleaseChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(eventCaptor.capture());
+        assertEquals(Status.ON_STAGING, eventCaptor.getValue().changes().get(0).before().getStatus());
+        verify(releaseRepository, times(1)).findAllById(anyIterable());
+    }
+}
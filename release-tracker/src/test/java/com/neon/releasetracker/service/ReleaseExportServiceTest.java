@@ -0,0 +1,70 @@
+package com.neon.releasetracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.neon.releasetracker.dto.ReleaseResponseDTO;
+import com.neon.releasetracker.enums.ReleaseFileFormat;
+import com.neon.releasetracker.enums.Status;
+import com.neon.releasetracker.repository.ReleaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+public class ReleaseExportServiceTest {
+    @Mock
+    private ReleaseRepository releaseRepository;
+
+    private ReleaseExportService releaseExportService;
+
+    private final ReleaseResponseDTO first = new ReleaseResponseDTO(1L, "Release 1", "First release", Status.CREATED,
+            LocalDate.of(2025, 1, 10), LocalDateTime.of(2025, 1, 1, 9, 0), LocalDateTime.of(2025, 1, 1, 9, 0));
+    private final ReleaseResponseDTO second = new ReleaseResponseDTO(2L, "Release 2", "Fixes \"checkout\", retries", Status.DONE,
+            LocalDate.of(2025, 2, 10), LocalDateTime.of(2025, 2, 1, 9, 0), LocalDateTime.of(2025, 2, 1, 9, 0));
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        var objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        releaseExportService = new ReleaseExportService(releaseRepository, objectMapper);
+        when(releaseRepository.streamAll(any(), any())).thenAnswer(invocation -> Stream.of(first, second));
+    }
+
+    @Test
+    void testExportNdjsonWritesOneObjectPerLine() throws Exception {
+        var out = new ByteArrayOutputStream();
+
+        var exported = releaseExportService.exportReleases(null, null, null, null, ReleaseFileFormat.NDJSON, out);
+
+        var lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, exported);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,\"name\":\"Release 1\""));
+        assertTrue(lines[1].startsWith("{\"id\":2,"));
+        assertTrue(lines[1].contains("\"releaseDate\":\"2025-02-10\""));
+    }
+
+    @Test
+    void testExportCsvQuotesFieldsWhenNeeded() throws Exception {
+        var out = new ByteArrayOutputStream();
+
+        releaseExportService.exportReleases(null, null, null, null, ReleaseFileFormat.CSV, out);
+
+        var lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals("id,name,description,status,releaseDate,createdAt,lastUpdateAt", lines[0]);
+        assertEquals("1,Release 1,First release,CREATED,2025-01-10,2025-01-01T09:00,2025-01-01T09:00", lines[1]);
+        assertEquals("2,Release 2,\"Fixes \"\"checkout\"\", retries\",DONE,2025-02-10,2025-02-01T09:00,2025-02-01T09:00", lines[2]);
+    }
+}
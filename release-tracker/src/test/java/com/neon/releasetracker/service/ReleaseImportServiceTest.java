@@ -0,0 +1,123 @@
+package com.neon.releasetracker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.neon.releasetracker.entity.Release;
+import com.neon.releasetracker.enums.ImportConflictMode;
+import com.neon.releasetracker.enums.ReleaseFileFormat;
+import com.neon.releasetracker.event.ReleasesImportedEvent;
+import com.neon.releasetracker.repository.ImportedRow;
+import com.neon.releasetracker.repository.ReleaseRepository;
+import com.neon.releasetracker.repository.ReleaseRepositoryCustom;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ReleaseImportServiceTest {
+    private static final String FUTURE_DATE = LocalDate.now().plusDays(30).toString();
+
+    @Mock
+    private ReleaseRepository releaseRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReleaseImportService releaseImportService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        var validator = Validation.buildDefaultValidatorFactory().getValidator();
+        var objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        releaseImportService = new ReleaseImportService(releaseRepository, new ReleaseService(releaseRepository, eventPublisher, validator),
+                validator, objectMapper, transactionManager, eventPublisher, 2);
+        var existingNames = new HashSet<>(Set.of("Existing"));
+        when(releaseRepository.upsertAll(anyList(), anyBoolean())).thenAnswer(invocation -> {
+            var releases = (List<Release>) invocation.getArgument(0);
+            return releases.stream()
+                    .filter(release -> existingNames.add(release.getName()))
+                    .map(release -> new ImportedRow((long) release.getName().hashCode(), release.getName(), true,
+                            null, release.getStatus(), release.getLastUpdatedAt()))
+                    .toList();
+        });
+    }
+
+    @Test
+    void testImportNdjsonWritesInChunksAndReportsBadLines() throws Exception {
+        var body = String.join("\n",
+                line("Release 1"),
+                "{not json",
+                line("Release 2"),
+                "",
+                line("Release 1"),
+                line("Existing"),
+                "{\"name\":\"\",\"description\":\"d\",\"status\":\"CREATED\",\"releaseDate\":\"" + FUTURE_DATE + "\"}");
+
+        var result = releaseImportService.importReleases(stream(body), ReleaseFileFormat.NDJSON, ImportConflictMode.SKIP);
+
+        assertEquals(6, result.received());
+        assertEquals(2, result.inserted());
+        assertEquals(2, result.skipped());
+        assertEquals(2, result.failed());
+        assertEquals(2, result.errors().get(0).line());
+        assertEquals(7, result.errors().get(1).line());
+        verify(releaseRepository, times(2)).upsertAll(anyList(), eq(false));
+        verify(eventPublisher, times(1)).publishEvent(any(ReleasesImportedEvent.class));
+    }
+
+    @Test
+    void testImportCsvParsesQuotedFieldsByHeader() throws Exception {
+        var body = "status,releaseDate,name,description\r\n"
+                + "CREATED," + FUTURE_DATE + ",Release 1,\"Fixes \"\"checkout\"\",\nretries\"\r\n"
+                + "UNKNOWN," + FUTURE_DATE + ",Release 2,Second\r\n";
+
+        var result = releaseImportService.importReleases(stream(body), ReleaseFileFormat.CSV, ImportConflictMode.UPDATE);
+
+        assertEquals(1, result.inserted());
+        assertEquals(4, result.errors().get(0).line());
+        verify(releaseRepository).upsertAll(argThat(releases ->
+                releases.get(0).getDescription().equals("Fixes \"checkout\",\nretries")), eq(true));
+    }
+
+    @Test
+    void testChunkSizeBeyondBindLimitIsRejected() {
+        var validator = Validation.buildDefaultValidatorFactory().getValidator();
+        var releaseService = new ReleaseService(releaseRepository, eventPublisher, validator);
+
+        new ReleaseImportService(releaseRepository, releaseService, validator, new ObjectMapper(), transactionManager, eventPublisher,
+                ReleaseRepositoryCustom.MAX_UPSERT_SIZE);
+        for(var chunkSize : List.of(0, ReleaseRepositoryCustom.MAX_UPSERT_SIZE + 1, 20_000)) {
+            assertThrows(IllegalArgumentException.class, () -> new ReleaseImportService(releaseRepository, releaseService,
+                    validator, new ObjectMapper(), transactionManager, eventPublisher, chunkSize));
+        }
+    }
+
+    private static String line(String name) {
+        return "{\"name\":\"" + name + "\",\"description\":\"Imported\",\"status\":\"CREATED\",\"releaseDate\":\"" + FUTURE_DATE + "\"}";
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
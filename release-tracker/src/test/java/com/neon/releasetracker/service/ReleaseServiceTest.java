@@ -2,25 +2,55 @@ package com.neon.releasetracker.service;
 
 import com.neon.releasetracker.dto.ReleaseRequestDTO;
 import com.neon.releasetracker.dto.ReleaseResponseDTO;
+import com.neon.releasetracker.dto.ReleaseTransitionRequestDTO;
 import com.neon.releasetracker.entity.Release;
 import com.neon.releasetracker.enums.Status;
+import com.neon.releasetracker.event.ReleaseChangedEvent;
+import com.neon.releasetracker.enums.CreateConflictMode;
+import com.neon.releasetracker.exception.InvalidReleaseException;
+import com.neon.releasetracker.exception.ReleaseAlreadyExistsException;
+import com.neon.releasetracker.exception.ReleaseNotFoundException;
+import com.neon.releasetracker.exception.ReleaseVersionMismatchException;
+import com.neon.releasetracker.repository.ConditionalDelete;
+import com.neon.releasetracker.repository.ConditionalUpdate;
+import com.neon.releasetracker.repository.CreateOutcome;
 import com.neon.releasetracker.repository.ReleaseRepository;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 public class ReleaseServiceTest {
     @Mock
     private ReleaseRepository releaseRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private ReleaseService releaseService;
 
@@ -43,47 +73,160 @@ public class ReleaseServiceTest {
         verify(releaseRepository, times(1)).findById(1L);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetAllReleasesDoesNotCount() {
+        var pageable = PageRequest.of(0, 5);
+        when(releaseRepository.findSlice(any(Specification.class), eq(pageable)))
+                .thenReturn(new SliceImpl<>(List.of(releaseService.mapToResponseDTO(release)), pageable, true));
+
+        var releases = releaseService.getAllReleases(Status.CREATED, null, null, null, pageable);
+
+        assertEquals(1, releases.getNumberOfElements());
+        assertTrue(releases.hasNext());
+        verify(releaseRepository, never()).count(any(Specification.class));
+        verify(releaseRepository, never()).findAll(any(Specification.class), eq(pageable));
+    }
+
     @Test
     void testCreateRelease() {
-        when(releaseRepository.save(any(Release.class))).thenReturn(release);
+        when(releaseRepository.insertIfAbsent(any(Release.class))).thenReturn(new CreateOutcome(release, true));
         var releaseDto = new ReleaseRequestDTO(release.getName(), release.getDescription(), release.getStatus(), release.getReleaseDate());
         var created = releaseService.createRelease(releaseDto);
 
         assertNotNull(created);
         assertEquals("Release 1", created.getName());
-        verify(releaseRepository, times(1)).save(any(Release.class));
+        verify(releaseRepository, times(1)).insertIfAbsent(any(Release.class));
+        verify(releaseRepository, never()).findReleaseByName(any());
+        verify(eventPublisher, times(1)).publishEvent(any(ReleaseChangedEvent.class));
+    }
+
+    @Test
+    void testCreateReleaseWithTakenName() {
+        when(releaseRepository.insertIfAbsent(any(Release.class))).thenReturn(new CreateOutcome(release, false));
+        var releaseDto = new ReleaseRequestDTO(release.getName(), "Retried", release.getStatus(), release.getReleaseDate());
+
+        assertThrows(ReleaseAlreadyExistsException.class, () -> releaseService.createRelease(releaseDto));
+        var outcome = releaseService.createRelease(releaseDto, CreateConflictMode.RETURN_EXISTING);
+
+        assertFalse(outcome.created());
+        assertEquals("First release", outcome.release().getDescription());
+        verify(eventPublisher, never()).publishEvent(any());
+        assertThrows(ConstraintViolationException.class, () -> releaseService.createRelease(
+                new ReleaseRequestDTO("Old release", "Description", Status.CREATED, LocalDate.now().minusDays(1))));
     }
 
     @Test
     void testDeleteRelease() {
         var releaseDto = new ReleaseRequestDTO("Release 1", "Description", Status.CREATED, LocalDate.now());
-        when(releaseRepository.save(any(Release.class))).thenAnswer(invocation -> {
+        when(releaseRepository.insertIfAbsent(any(Release.class))).thenAnswer(invocation -> {
             Release release = invocation.getArgument(0);
             release.setId(1L);
-            return release;
+            return new CreateOutcome(release, true);
         });
 
         var created = releaseService.createRelease(releaseDto);
-        when(releaseRepository.findById(1L)).thenReturn(Optional.of(created));
+        when(releaseRepository.deleteIfVersion(1L, null)).thenReturn(Optional.of(new ConditionalDelete(created, true)));
         releaseService.deleteRelease(created.getId());
-        verify(releaseRepository, times(1)).delete(created);
+        verify(releaseRepository, times(1)).deleteIfVersion(1L, null);
+        verify(releaseRepository, never()).findById(any());
+        verify(releaseRepository, never()).delete(any(Release.class));
+    }
+
+    @Test
+    void testDeleteReleaseWithStaleVersion() {
+        release.setVersion(5L);
+        when(releaseRepository.deleteIfVersion(1L, List.of(3L))).thenReturn(Optional.of(new ConditionalDelete(release, false)));
+
+        var mismatch = assertThrows(ReleaseVersionMismatchException.class, () -> releaseService.deleteRelease(1L, List.of(3L)));
+
+        assertEquals(5L, mismatch.getCurrentVersion());
+        verify(eventPublisher, never()).publishEvent(any());
+        when(releaseRepository.deleteIfVersion(2L, null)).thenReturn(Optional.empty());
+        assertThrows(ReleaseNotFoundException.class, () -> releaseService.deleteRelease(2L));
     }
 
     @Test
     void testUpdateRelease() {
-        Release existingRelease = new Release(1L, "Release 1", "Description", Status.CREATED, LocalDate.now(), LocalDateTime.now(), LocalDateTime.now());
-        Release releaseToUpdate = new Release(1L, "Updated Release", "Updated Description", Status.DONE, LocalDate.now(), LocalDateTime.now(), LocalDateTime.now());
+        Release releaseToUpdate = new Release(null, "Updated Release", "Updated Description", Status.DONE, LocalDate.now(), null, null);
+        Release current = new Release(1L, "Release 1", "Description", Status.CREATED, LocalDate.now(), LocalDateTime.now(), LocalDateTime.now());
+        Release updated = new Release(1L, "Updated Release", "Updated Description", Status.DONE, LocalDate.now(), LocalDateTime.now(), LocalDateTime.now());
+        updated.setVersion(4L);
 
-        when(releaseRepository.findById(1L)).thenReturn(Optional.of(existingRelease));
-        when(releaseRepository.save(any(Release.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(releaseRepository.updateIfVersion(1L, releaseToUpdate, List.of(3L))).thenReturn(Optional.of(new ConditionalUpdate(current, updated)));
 
-        var updatedRelease = releaseService.updateRelease(1L, releaseToUpdate);
-        assertNotNull(updatedRelease);
+        var updatedRelease = releaseService.updateRelease(1L, releaseToUpdate, List.of(3L));
         assertEquals("Updated Release", updatedRelease.getName());
-        assertEquals("Updated Description", updatedRelease.getDescription());
-        assertEquals(Status.DONE, updatedRelease.getStatus());
+        assertEquals(4L, updatedRelease.getVersion());
 
-        verify(releaseRepository, times(1)).save(existingRelease);
-        verify(releaseRepository, times(1)).findById(1L);
+        verify(releaseRepository, times(1)).updateIfVersion(1L, releaseToUpdate, List.of(3L));
+        verify(releaseRepository, never()).findById(any());
+        verify(releaseRepository, never()).save(any());
+    }
+
+    @Test
+    void testUpdateReleasePublishesPreviousAndNewState() {
+        Release current = new Release(1L, "Release 1", "Description", Status.IN_DEVELOPMENT, LocalDate.now(), LocalDateTime.now(), LocalDateTime.now());
+        Release updated = new Release(1L, "Release 1", "Description", Status.ON_DEV, LocalDate.now(), LocalDateTime.now(), LocalDateTime.now());
+        Release releaseToUpdate = new Release(null, null, null, Status.ON_DEV, null, null, null);
+
+        when(releaseRepository.updateIfVersion(1L, releaseToUpdate, null)).thenReturn(Optional.of(new ConditionalUpdate(current, updated)));
+
+        releaseService.updateRelease(1L, releaseToUpdate);
+
+        var eventCaptor = ArgumentCaptor.forClass(ReleaseChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(eventCaptor.capture());
+        var change = eventCaptor.getValue().changes().get(0);
+        assertEquals(Status.IN_DEVELOPMENT, change.before().getStatus());
+        assertEquals(Status.ON_DEV, change.after().getStatus());
+    }
+
+    @Test
+    void testUpdateReleaseWithStaleVersion() {
+        Release current = new Release(1L, "Release 1", "Description", Status.IN_DEVELOPMENT, LocalDate.now(), LocalDateTime.now(), LocalDateTime.now());
+        current.setVersion(5L);
+        Release releaseToUpdate = new Release(null, null, null, Status.ON_DEV, null, null, null);
+        when(releaseRepository.updateIfVersion(1L, releaseToUpdate, List.of(3L))).thenReturn(Optional.of(new ConditionalUpdate(current, null)));
+
+        var mismatch = assertThrows(ReleaseVersionMismatchException.class, () -> releaseService.updateRelease(1L, releaseToUpdate, List.of(3L)));
+
+        assertEquals(5L, mismatch.getCurrentVersion());
+        verify(eventPublisher, never()).publishEvent(any());
+        when(releaseRepository.updateIfVersion(2L, releaseToUpdate, List.of(3L))).thenReturn(Optional.empty());
+        assertThrows(ReleaseNotFoundException.class, () -> releaseService.updateRelease(2L, releaseToUpdate, List.of(3L)));
+    }
+
+    @Test
+    void testDeleteReleasePublishesDeletedState() {
+        when(releaseRepository.deleteIfVersion(1L, null)).thenReturn(Optional.of(new ConditionalDelete(release, true)));
+
+        releaseService.deleteRelease(1L);
+
+        var eventCaptor = ArgumentCaptor.forClass(ReleaseChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(eventCaptor.capture());
+        var change = eventCaptor.getValue().changes().get(0);
+        assertEquals(release, change.before());
+        assertNull(change.after());
+    }
+
+    @Test
+    void testTransitionReleasesPublishesEveryChange() {
+        Release first = new Release(1L, "Release 1", "Description", Status.QA_DONE_ON_STAGING, LocalDate.now(), LocalDateTime.now(), LocalDateTime.now());
+        Release second = new Release(2L, "Release 2", "Description", Status.QA_DONE_ON_STAGING, LocalDate.now(), LocalDateTime.now(), LocalDateTime.now());
+        when(releaseRepository.transitionStatus(Status.QA_DONE_ON_STAGING, Status.ON_PROD, "Release", null, null))
+                .thenReturn(List.of(
+                        new ConditionalUpdate(first, releaseService.copyOf(first)),
+                        new ConditionalUpdate(second, releaseService.copyOf(second))));
+
+        var ids = releaseService.transitionReleases(
+                new ReleaseTransitionRequestDTO(Status.QA_DONE_ON_STAGING, Status.ON_PROD, "Release", null, null));
+
+        assertEquals(List.of(1L, 2L), ids);
+        var eventCaptor = ArgumentCaptor.forClass(ReleaseChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(eventCaptor.capture());
+        assertEquals(2, eventCaptor.getValue().changes().size());
+        verify(releaseRepository, never()).findAll(any(Specification.class));
+        assertThrows(InvalidReleaseException.class, () -> releaseService.transitionReleases(
+                new ReleaseTransitionRequestDTO(Status.ON_PROD, Status.ON_PROD, null, null, null)));
     }
 }
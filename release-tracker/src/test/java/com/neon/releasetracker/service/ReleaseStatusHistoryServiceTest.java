@@ -0,0 +1,33 @@
+package com.neon.releasetracker.service;
+
+import com.neon.releasetracker.entity.ReleaseStatusChange;
+import com.neon.releasetracker.enums.Status;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDateTime;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReleaseStatusHistoryServiceTest {
+
+    @Test
+    void testDwellTimesSumRevisitsAndCountCurrentStatusUntilNow() {
+        var start = LocalDateTime.of(2025, 1, 1, 10, 0);
+        var timeline = List.of(
+                new ReleaseStatusChange(1L, null, Status.ON_STAGING, start),
+                new ReleaseStatusChange(1L, Status.ON_STAGING, Status.ON_DEV, start.plusMinutes(10)),
+                new ReleaseStatusChange(1L, Status.ON_DEV, Status.ON_STAGING, start.plusMinutes(15)),
+                new ReleaseStatusChange(1L, Status.ON_STAGING, Status.ON_PROD, start.plusMinutes(45)));
+
+        var history = ReleaseStatusHistoryService.toHistory(1L, timeline, start.plusMinutes(60));
+
+        assertEquals(4, history.transitions().size());
+        assertEquals(600, history.transitions().get(0).dwellSeconds());
+        assertFalse(history.transitions().get(2).current());
+        assertTrue(history.transitions().get(3).current());
+        assertEquals(2400, history.dwellSeconds().get(Status.ON_STAGING));
+        assertEquals(300, history.dwellSeconds().get(Status.ON_DEV));
+        assertEquals(900, history.dwellSeconds().get(Status.ON_PROD));
+    }
+}
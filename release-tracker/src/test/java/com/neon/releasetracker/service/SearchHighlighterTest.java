@@ -0,0 +1,33 @@
+package com.neon.releasetracker.service;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class SearchHighlighterTest {
+
+    @Test
+    void testHighlightsCaseInsensitiveMatches() {
+        assertEquals("<mark>Payment</mark>s and <mark>payment</mark> retries",
+                SearchHighlighter.highlight("Payments and payment retries", "payment"));
+    }
+
+    @Test
+    void testHighlightsEachTermAndEscapesHtml() {
+        assertEquals("&lt;b&gt; <mark>checkout</mark> &amp; <mark>retry</mark>",
+                SearchHighlighter.highlight("<b> checkout & retry", "checkout retry"));
+    }
+
+    @Test
+    void testTextWhoseLowercaseIsLongerKeepsOffsets() {
+        assertEquals("<mark>İstanbul</mark> rollout", SearchHighlighter.highlight("İstanbul rollout", "istanbul"));
+        assertEquals("İzmir <mark>payment</mark>s", SearchHighlighter.highlight("İzmir payments", "payment"));
+        assertEquals("İ <mark>payment</mark>", SearchHighlighter.highlight("İ payment", "payment"));
+    }
+
+    @Test
+    void testNoMatchAndNullText() {
+        assertEquals("Inventory sync", SearchHighlighter.highlight("Inventory sync", "payments"));
+        assertNull(SearchHighlighter.highlight(null, "payments"));
+    }
+}
@@ -0,0 +1,93 @@
+package com.neon.releasetracker.stats;
+
+import com.neon.releasetracker.entity.Release;
+import com.neon.releasetracker.enums.Status;
+import com.neon.releasetracker.event.ReleaseChange;
+import com.neon.releasetracker.event.ReleaseChangedEvent;
+import com.neon.releasetracker.repository.ReleaseBucketCountView;
+import com.neon.releasetracker.repository.ReleaseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.*;
+
+public class ReleaseStatsTrackerTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 2, 11);
+
+    @Mock
+    private ReleaseRepository releaseRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReleaseStatsTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        tracker = new ReleaseStatsTracker(releaseRepository, Duration.ofMinutes(5), meterRegistry);
+    }
+
+    private static Release release(long id, Status status, LocalDate releaseDate) {
+        return new Release(id, "Release " + id, "Description", status, releaseDate, LocalDateTime.now(), LocalDateTime.now());
+    }
+
+    private static ReleaseBucketCountView bucket(Status status, LocalDate releaseDate, long releases) {
+        return new ReleaseBucketCountView() {
+            public Status getStatus() { return status; }
+            public LocalDate getReleaseDate() { return releaseDate; }
+            public long getReleases() { return releases; }
+        };
+    }
+
+    @Test
+    void testChangesAdjustCountsWithoutQueries() {
+        var overdue = release(1, Status.ON_STAGING, TODAY.minusDays(1));
+        var upcoming = release(2, Status.CREATED, TODAY.plusDays(7));
+        tracker.onReleaseChanged(new ReleaseChangedEvent(List.of(ReleaseChange.created(overdue), ReleaseChange.created(upcoming))));
+        tracker.onReleaseChanged(ReleaseChangedEvent.of(ReleaseChange.updated(overdue, release(1, Status.ON_PROD, TODAY.minusDays(1)))));
+
+        var stats = tracker.snapshot(TODAY);
+
+        assertEquals(2, stats.total());
+        assertEquals(1L, stats.byStatus().get(Status.ON_PROD));
+        assertEquals(0L, stats.byStatus().get(Status.ON_STAGING));
+        assertEquals(1, stats.upcoming());
+        assertEquals(0, stats.overdue());
+        assertEquals(1L, stats.byWeek().get("2026-W07"));
+        assertEquals(1L, stats.byWeek().get("2026-W08"));
+        assertEquals(2L, stats.byMonth().get("2026-02"));
+        assertSame(stats, tracker.snapshot(TODAY));
+
+        tracker.onReleaseChanged(ReleaseChangedEvent.of(ReleaseChange.deleted(upcoming)));
+        assertEquals(0, tracker.snapshot(TODAY).upcoming());
+        assertEquals(1, tracker.snapshot(TODAY.plusDays(1)).total());
+        verifyNoInteractions(releaseRepository);
+    }
+
+    @Test
+    void testRecountReplacesDriftedCounts() {
+        tracker.onReleaseChanged(ReleaseChangedEvent.of(ReleaseChange.created(release(1, Status.CREATED, TODAY))));
+        when(releaseRepository.countByStatusAndReleaseDate()).thenReturn(List.of(
+                bucket(Status.CREATED, TODAY, 3),
+                bucket(Status.DONE, TODAY.minusMonths(1), 2)));
+
+        tracker.reconcile();
+        tracker.reconcile();
+
+        var stats = tracker.snapshot(TODAY);
+        assertEquals(5, stats.total());
+        assertEquals(3, stats.upcoming());
+        assertEquals(2L, stats.byMonth().get("2026-01"));
+        assertNotNull(stats.reconciledAt());
+        assertEquals(0.0, meterRegistry.get("release.stats.corrections").counter().count());
+    }
+}